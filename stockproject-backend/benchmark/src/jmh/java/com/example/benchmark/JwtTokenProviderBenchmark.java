@@ -0,0 +1,71 @@
+package com.example.benchmark;
+
+import com.example.userservice.jwt.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급과 서명 검증, 필터가 쓰는 인증 정보 조회(resolveAuthentication) 비용을 측정합니다.
+// - resolveAuthenticationHit  : 검증이 끝난 토큰을 캐시에서 바로 꺼내는 경우 (대부분의 요청)
+// - resolveAuthenticationMiss : 처음 보는 토큰이라 서명 검증 + 사용자 조회 + 인증 정보 생성까지 하는 경우
+//                               (서로 다른 사용자의 토큰을 돌려 쓰고 캐시는 1개만 두어 항상 미스가 납니다.
+//                                사용자 조회는 메모리에서 User 를 만드는 비용만 들어갑니다)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String EMAIL = "test@example.com";
+    // 미스 측정용 토큰 수. 한 바퀴 도는 동안 크기 1 인 캐시에서 앞선 토큰은 모두 밀려납니다.
+    private static final int MISS_TOKENS = 1 << 16;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenProvider uncachedTokenProvider;
+    private String token;
+    private String[] missTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String secretKey = Base64.getEncoder().encodeToString("benchmarkSecretKeyForJwtTokenProvider".getBytes());
+        UserDetailsService userDetailsService = email -> new User(email, "", List.of());
+        jwtTokenProvider = new JwtTokenProvider(secretKey, 3600000, userDetailsService);
+        uncachedTokenProvider = new JwtTokenProvider(secretKey, 3600000, userDetailsService, 1, Duration.ofSeconds(30));
+        token = jwtTokenProvider.generateToken(EMAIL);
+        // 캐시에 올려 둡니다.
+        jwtTokenProvider.resolveAuthentication(token);
+
+        missTokens = new String[MISS_TOKENS];
+        for (int i = 0; i < MISS_TOKENS; i++) {
+            missTokens[i] = uncachedTokenProvider.generateToken("user-" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication resolveAuthenticationHit() {
+        return jwtTokenProvider.resolveAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication resolveAuthenticationMiss() {
+        String missToken = missTokens[next];
+        next = (next + 1) & (MISS_TOKENS - 1);
+        return uncachedTokenProvider.resolveAuthentication(missToken);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.benchmark;
+
+import com.example.orderservice.domain.Order;
+import com.example.orderservice.domain.OrderItem;
+import com.example.orderservice.dto.response.OrderDetailResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 주문 생성(Order.createOrder)과 상세 응답 변환(OrderDetailResponseDto.fromEntity) 비용을 상품 수(N)별로 측정합니다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = Order.createOrder("order-id-1", 1L, newItems());
+    }
+
+    // Order.createOrder 가 아이템의 연관관계를 설정하므로 매 호출마다 새 아이템을 만듭니다.
+    private List<OrderItem> newItems() {
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItem("product-id-" + i, 10000L + i, 2));
+        }
+        return items;
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return Order.createOrder("order-id-1", 1L, newItems());
+    }
+
+    @Benchmark
+    public OrderDetailResponseDto toDetailResponse() {
+        return OrderDetailResponseDto.fromEntity(order);
+    }
+}
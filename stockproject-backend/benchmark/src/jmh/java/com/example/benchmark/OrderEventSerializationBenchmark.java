@@ -0,0 +1,63 @@
+package com.example.benchmark;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.codec.EventCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Kafka 로 주고받는 주문 이벤트의 직렬화 -> 역직렬화 왕복 비용을 JSON(Jackson)과 바이너리(EventCodec)로 비교합니다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderEventSerializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OrderCreatedEvent createdEvent;
+    private OrderCancelledEvent cancelledEvent;
+
+    @Setup
+    public void setUp() {
+        List<OrderItemPayload> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemPayload("product-id-" + i, 2, 10000L + i));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        createdEvent = new OrderCreatedEvent("order-id-1", 1L, 20000L * itemCount, now, items);
+        cancelledEvent = new OrderCancelledEvent("order-id-1", 1L, 20000L * itemCount, now, items);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent orderCreatedRoundTrip() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(createdEvent);
+        return objectMapper.readValue(json, OrderCreatedEvent.class);
+    }
+
+    @Benchmark
+    public OrderCancelledEvent orderCancelledRoundTrip() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(cancelledEvent);
+        return objectMapper.readValue(json, OrderCancelledEvent.class);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent orderCreatedBinaryRoundTrip() {
+        return EventCodec.decode(EventCodec.encode(createdEvent), OrderCreatedEvent.class);
+    }
+
+    @Benchmark
+    public OrderCancelledEvent orderCancelledBinaryRoundTrip() {
+        return EventCodec.decode(EventCodec.encode(cancelledEvent), OrderCancelledEvent.class);
+    }
+}
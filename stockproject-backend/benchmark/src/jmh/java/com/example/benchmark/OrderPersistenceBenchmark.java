@@ -0,0 +1,97 @@
+package com.example.benchmark;
+
+import com.example.orderservice.domain.Order;
+import com.example.orderservice.domain.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 주문 한 건(상품 N개)을 저장하는 시간과 DB 로 보낸 문장 수(statements)를 JDBC 배치 전(batchSize=1)과 후(batchSize=50)로 비교합니다.
+// batchSize=1 은 IDENTITY 를 쓰던 때처럼 상품마다 INSERT 를 한 번씩 보냅니다.
+// H2 를 TCP 서버로 띄워 문장마다 (로컬) 네트워크 왕복이 생깁니다. 실제 MySQL 에서는 왕복 비용이 더 큽니다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderPersistenceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private Server server;
+    private SingleConnectionDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private Statistics statistics;
+
+    // 측정 동안 저장한 주문 수와 DB 로 보낸 문장 수. statements / orders 가 주문 한 건당 왕복 수입니다.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long orders;
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:orders;DB_CLOSE_DELAY=-1";
+        dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.example.orderservice.domain");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.jdbc.batch_size", batchSize,
+                "hibernate.order_inserts", true,
+                "hibernate.generate_statistics", true));
+        factoryBean.afterPropertiesSet();
+
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        entityManager.close();
+        entityManagerFactory.close();
+        dataSource.destroy();
+        server.stop();
+    }
+
+    @Benchmark
+    public Order saveOrder(RoundTrips roundTrips) {
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItem("product-id-" + i, 10000L + i, 2));
+        }
+        Order order = Order.createOrder(UUID.randomUUID().toString(), 1L, items);
+
+        long before = statistics.getPrepareStatementCount();
+        entityManager.getTransaction().begin();
+        entityManager.persist(order);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        roundTrips.orders++;
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+        return order;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.benchmark;
+
+import com.example.stockservice.domain.Stock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 재고 도메인 객체의 차감 비용을 측정합니다.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StockBenchmark {
+
+    private Stock stock;
+
+    // 재고가 바닥나 예외 경로를 측정하지 않도록 매 반복마다 충분한 재고로 다시 만듭니다.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        stock = new Stock("product-id-101", Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Long decrease() {
+        stock.decrease(1L);
+        return stock.getQuantity();
+    }
+}
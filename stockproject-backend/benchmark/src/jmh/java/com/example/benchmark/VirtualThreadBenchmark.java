@@ -0,0 +1,71 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 요청마다 10ms 블로킹 I/O(JDBC/MongoDB 조회 대신 sleep)를 하는 서버에 동시 요청 concurrency 개가 한꺼번에 들어올 때,
+// 모두 끝날 때까지 걸린 시간(= 가장 느린 요청의 지연)을 비교합니다. SampleTime 결과의 p0.99 를 비교하면 됩니다.
+// - platform       : Tomcat 기본 설정과 같은 플랫폼 스레드 200개
+// - virtual        : spring.threads.virtual.enabled=true (요청마다 가상 스레드)
+// - virtual-pinned : 가상 스레드지만 synchronized 안에서 블로킹 (Caffeine get(key, loader) 안에서 DB 를 조회하던 경우)
+//                    JDK 21 에서는 캐리어 스레드(코어 수)만큼만 동시에 처리됩니다.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long IO_MILLIS = 10;
+
+    @Param({"platform", "virtual", "virtual-pinned"})
+    private String mode;
+
+    @Param({"200", "1000"})
+    private int concurrency;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void startExecutor() {
+        executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void handleConcurrentRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        boolean pinned = mode.equals("virtual-pinned");
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                try {
+                    if (pinned) {
+                        blockWhileHoldingMonitor(new Object());
+                    } else {
+                        Thread.sleep(IO_MILLIS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private static void blockWhileHoldingMonitor(Object monitor) throws InterruptedException {
+        synchronized (monitor) {
+            Thread.sleep(IO_MILLIS);
+        }
+    }
+}
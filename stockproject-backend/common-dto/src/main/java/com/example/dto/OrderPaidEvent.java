@@ -0,0 +1,14 @@
+package com.example.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 주문 결제 완료 시 Kafka에 발행할 이벤트 (stock-service 가 재고 예약을 확정합니다)
+// items 는 예약이 이미 만료된 뒤 결제가 확정되었을 때 stock-service 가 재고를 다시 차감하는 데 씁니다.
+// (items 가 추가되기 전 메시지는 null)
+public record OrderPaidEvent(
+        String orderId,
+        Long userId,
+        LocalDateTime paidAt,
+        List<OrderItemPayload> items
+) {}
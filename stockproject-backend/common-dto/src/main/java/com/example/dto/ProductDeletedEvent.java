@@ -0,0 +1,6 @@
+package com.example.dto;
+
+// 상품 삭제 시 Kafka에 발행할 이벤트
+public record ProductDeletedEvent(
+        String productId
+) {}
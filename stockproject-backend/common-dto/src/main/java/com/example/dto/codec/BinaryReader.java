@@ -0,0 +1,120 @@
+package com.example.dto.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// BinaryWriter 로 쓴 값을 읽습니다.
+// ⭐️ struct 끝을 넘어 읽으면 예외 대신 null 을 반환합니다. 이전 버전이 쓴(필드가 적은) 메시지를 새 코드가 읽을 수 있게 하기 위함입니다.
+final class BinaryReader {
+
+    private final byte[] data;
+    private final int limit;
+    private int position;
+
+    BinaryReader(byte[] data, int offset, int limit) {
+        this.data = data;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    boolean hasRemaining() {
+        return position < limit;
+    }
+
+    int readByte() {
+        if (position >= limit) {
+            throw new IllegalArgumentException("이벤트 메시지가 잘렸습니다.");
+        }
+        return data[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint 값입니다.");
+    }
+
+    long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        if (!hasRemaining()) {
+            return null;
+        }
+        int length = toLength(readVarLong());
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    Long readNullableLong() {
+        if (!hasRemaining() || readByte() == 0) {
+            return null;
+        }
+        return readSignedVarLong();
+    }
+
+    Integer readNullableInt() {
+        Long value = readNullableLong();
+        return value == null ? null : Math.toIntExact(value);
+    }
+
+    LocalDateTime readDateTime() {
+        if (!hasRemaining() || readByte() == 0) {
+            return null;
+        }
+        long epochSecond = readSignedVarLong();
+        int nano = (int) readVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    <T> List<T> readList(Function<BinaryReader, T> elementReader) {
+        if (!hasRemaining()) {
+            return null;
+        }
+        int size = toLength(readVarLong());
+        if (size < 0) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(Math.min(size, limit - position));
+        for (int i = 0; i < size; i++) {
+            values.add(elementReader.apply(readStruct()));
+        }
+        return values;
+    }
+
+    // 길이가 붙은 struct 를 읽을 하위 reader 를 만들고, 이 reader 는 struct 끝으로 이동합니다.
+    BinaryReader readStruct() {
+        int length = (int) readVarLong();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("이벤트 메시지가 잘렸습니다.");
+        }
+        BinaryReader nested = new BinaryReader(data, position, position + length);
+        position += length;
+        return nested;
+    }
+
+    // writeString / writeList 가 쓴 (길이 + 1) 값을 길이로 바꿉니다. null 이면 -1
+    private int toLength(long encoded) {
+        int length = (int) encoded - 1;
+        if (encoded < 0 || encoded > Integer.MAX_VALUE || length > limit - position) {
+            throw new IllegalArgumentException("이벤트 메시지가 잘렸습니다.");
+        }
+        return length;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.dto.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// 이벤트 바이너리 포맷 쓰기 도구. 정수는 varint(음수는 zigzag)로, null 가능한 값은 앞에 존재 여부를 붙여 씁니다.
+final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    // 길이 + 1 을 먼저 씁니다. 0 은 null 을 뜻합니다.
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    void writeNullableLong(Long value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value);
+    }
+
+    void writeNullableInt(Integer value) {
+        writeNullableLong(value == null ? null : value.longValue());
+    }
+
+    // LocalDateTime 은 시간대 정보가 없으므로 UTC 기준 epoch 초 + 나노초로 그대로 옮깁니다.
+    void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeVarLong(value.getNano());
+    }
+
+    // 크기 + 1 을 먼저 쓰고, 각 원소는 길이가 붙은 struct 로 씁니다.
+    <T> void writeList(List<T> values, BiConsumer<BinaryWriter, T> elementWriter) {
+        if (values == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(values.size() + 1L);
+        for (T value : values) {
+            writeStruct(writer -> elementWriter.accept(writer, value));
+        }
+    }
+
+    // 길이를 앞에 붙여 씁니다. 읽는 쪽은 모르는(새로 추가된) 뒤쪽 필드를 이 길이만큼 건너뛸 수 있습니다.
+    void writeStruct(Consumer<BinaryWriter> body) {
+        BinaryWriter nested = new BinaryWriter(32);
+        body.accept(nested);
+        writeVarLong(nested.position);
+        writeBytes(nested.buffer, 0, nested.position);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
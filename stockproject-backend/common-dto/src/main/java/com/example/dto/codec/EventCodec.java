@@ -0,0 +1,153 @@
+package com.example.dto.codec;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.OrderPaidEvent;
+import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// common-dto 이벤트의 바이너리 인코딩.
+//
+// 메시지 구조 : [MAGIC 1바이트][FORMAT_VERSION 1바이트][typeId 1바이트][본문]
+// 본문은 record 의 필드를 선언 순서대로 씁니다. 필드 이름이 없으므로 JSON 보다 작고 파싱이 단순합니다.
+//
+// ⭐️ 스키마 변경 규칙
+//  1. 필드는 record 의 맨 뒤에만 추가합니다. 삭제, 순서 변경, 타입 변경은 하지 않습니다.
+//  2. 이전 버전이 쓴 메시지에 없는 필드는 null(원시 타입은 0)로 읽습니다.
+//  3. 이전 버전 코드는 새로 추가된 뒤쪽 필드를 struct 길이만큼 건너뜁니다. (목록 원소는 길이가 붙은 struct)
+//  4. 새 이벤트 타입은 새 typeId 를 받습니다. typeId 는 재사용하지 않습니다.
+//  5. 위 규칙으로 표현할 수 없는 변경이면 FORMAT_VERSION 을 올립니다. 모르는 버전은 읽지 않고 거부합니다.
+public final class EventCodec {
+
+    // JSON 메시지의 첫 바이트('{', '"', 공백)와 겹치지 않는 값
+    public static final byte MAGIC = (byte) 0xEC;
+    public static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 3;
+
+    private static final Map<Class<?>, EventSchema<?>> SCHEMAS_BY_TYPE = new HashMap<>();
+    private static final Map<Integer, EventSchema<?>> SCHEMAS_BY_ID = new HashMap<>();
+
+    static {
+        register(new EventSchema<>(1, OrderCreatedEvent.class,
+                (writer, event) -> {
+                    writer.writeString(event.orderId());
+                    writer.writeNullableLong(event.userId());
+                    writer.writeNullableLong(event.totalPrice());
+                    writer.writeDateTime(event.createdAt());
+                    writer.writeList(event.items(), EventCodec::writeItem);
+                },
+                reader -> new OrderCreatedEvent(
+                        reader.readString(),
+                        reader.readNullableLong(),
+                        reader.readNullableLong(),
+                        reader.readDateTime(),
+                        reader.readList(EventCodec::readItem))));
+        register(new EventSchema<>(2, OrderCancelledEvent.class,
+                (writer, event) -> {
+                    writer.writeString(event.orderId());
+                    writer.writeNullableLong(event.userId());
+                    writer.writeNullableLong(event.totalPrice());
+                    writer.writeDateTime(event.createdAt());
+                    writer.writeList(event.items(), EventCodec::writeItem);
+                },
+                reader -> new OrderCancelledEvent(
+                        reader.readString(),
+                        reader.readNullableLong(),
+                        reader.readNullableLong(),
+                        reader.readDateTime(),
+                        reader.readList(EventCodec::readItem))));
+        register(new EventSchema<>(3, ProductCreatedEvent.class,
+                (writer, event) -> {
+                    writer.writeString(event.productId());
+                    writer.writeNullableInt(event.initialStock());
+                },
+                reader -> {
+                    String productId = reader.readString();
+                    Integer initialStock = reader.readNullableInt();
+                    return new ProductCreatedEvent(productId, initialStock == null ? 0 : initialStock);
+                }));
+        register(new EventSchema<>(4, ProductDeletedEvent.class,
+                (writer, event) -> writer.writeString(event.productId()),
+                reader -> new ProductDeletedEvent(reader.readString())));
+        register(new EventSchema<>(5, OrderPaidEvent.class,
+                (writer, event) -> {
+                    writer.writeString(event.orderId());
+                    writer.writeNullableLong(event.userId());
+                    writer.writeDateTime(event.paidAt());
+                    writer.writeList(event.items(), EventCodec::writeItem);
+                },
+                reader -> new OrderPaidEvent(
+                        reader.readString(),
+                        reader.readNullableLong(),
+                        reader.readDateTime(),
+                        reader.readList(EventCodec::readItem))));
+    }
+
+    private EventCodec() {
+    }
+
+    private static void register(EventSchema<?> schema) {
+        SCHEMAS_BY_TYPE.put(schema.type(), schema);
+        SCHEMAS_BY_ID.put(schema.typeId(), schema);
+    }
+
+    private static void writeItem(BinaryWriter writer, OrderItemPayload item) {
+        writer.writeString(item.productId());
+        writer.writeNullableInt(item.quantity());
+        writer.writeNullableLong(item.price());
+    }
+
+    private static OrderItemPayload readItem(BinaryReader reader) {
+        return new OrderItemPayload(reader.readString(), reader.readNullableInt(), reader.readNullableLong());
+    }
+
+    public static boolean supports(Class<?> type) {
+        return SCHEMAS_BY_TYPE.containsKey(type);
+    }
+
+    // 헤더의 MAGIC 으로 바이너리 메시지인지 판단합니다. 아니면 이전 JSON 메시지로 간주합니다.
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static byte[] encode(Object event) {
+        EventSchema<Object> schema = (EventSchema<Object>) SCHEMAS_BY_TYPE.get(event.getClass());
+        if (schema == null) {
+            throw new IllegalArgumentException("바이너리 포맷을 지원하지 않는 이벤트입니다: " + event.getClass().getName());
+        }
+        BinaryWriter writer = new BinaryWriter(128);
+        writer.writeByte(MAGIC);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeByte(schema.typeId());
+        schema.writer().accept(writer, event);
+        return writer.toByteArray();
+    }
+
+    public static Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("바이너리 이벤트 메시지가 아닙니다.");
+        }
+        if (data[1] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 이벤트 포맷 버전입니다: " + data[1]);
+        }
+        EventSchema<?> schema = SCHEMAS_BY_ID.get(data[2] & 0xFF);
+        if (schema == null) {
+            throw new IllegalArgumentException("알 수 없는 이벤트 타입입니다: " + (data[2] & 0xFF));
+        }
+        return schema.reader().apply(new BinaryReader(data, HEADER_SIZE, data.length));
+    }
+
+    public static <T> T decode(byte[] data, Class<T> type) {
+        Object event = decode(data);
+        if (!type.isInstance(event)) {
+            throw new IllegalArgumentException("이벤트 타입이 일치하지 않습니다. expected: " + type.getSimpleName()
+                    + ", actual: " + event.getClass().getSimpleName());
+        }
+        return type.cast(event);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.dto.codec;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// 모든 서비스의 이벤트 컨슈머가 사용하는 Kafka value deserializer.
+// 바이너리 메시지는 헤더의 typeId 로 타입을 결정하고,
+// 마이그레이션 기간 동안 들어오는 이전 JSON 메시지는 토픽별 이벤트 타입으로 읽습니다.
+// 실패하면 예외를 던지므로 ErrorHandlingDeserializer 로 감싸서 사용합니다.
+public class EventDeserializer implements Deserializer<Object> {
+
+    private static final Map<String, Class<?>> LEGACY_JSON_TYPES = Map.of(
+            "order-created", OrderCreatedEvent.class,
+            "order-cancelled", OrderCancelledEvent.class,
+            "product-created", ProductCreatedEvent.class,
+            "product-deleted", ProductDeletedEvent.class);
+
+    private static final ObjectMapper LEGACY_OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (EventCodec.isBinary(data)) {
+            return EventCodec.decode(data);
+        }
+        return readLegacyJson(topic, data);
+    }
+
+    private Object readLegacyJson(String topic, byte[] data) {
+        Class<?> type = LEGACY_JSON_TYPES.get(topic);
+        if (type == null) {
+            throw new IllegalArgumentException("이전 JSON 메시지의 타입을 알 수 없는 토픽입니다: " + topic);
+        }
+        // 상품 삭제는 예전에 상품 ID 문자열만 보냈습니다. ("\"id\"" 또는 따옴표 없는 id)
+        if (type == ProductDeletedEvent.class) {
+            return new ProductDeletedEvent(readLegacyProductId(data));
+        }
+        try {
+            return LEGACY_OBJECT_MAPPER.readValue(data, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("이전 JSON 메시지 역직렬화에 실패했습니다. topic: " + topic, e);
+        }
+    }
+
+    private String readLegacyProductId(byte[] data) {
+        String message = new String(data, StandardCharsets.UTF_8);
+        if (!message.startsWith("\"")) {
+            return message;
+        }
+        try {
+            return LEGACY_OBJECT_MAPPER.readValue(message, String.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("이전 상품 삭제 메시지 역직렬화에 실패했습니다: " + message, e);
+        }
+    }
+}
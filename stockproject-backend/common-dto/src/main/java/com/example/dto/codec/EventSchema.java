@@ -0,0 +1,12 @@
+package com.example.dto.codec;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// 이벤트 타입 하나의 바이너리 스키마. typeId 는 헤더에 기록되며 한 번 정하면 바꾸거나 재사용하지 않습니다.
+record EventSchema<T>(
+        int typeId,
+        Class<T> type,
+        BiConsumer<BinaryWriter, T> writer,
+        Function<BinaryReader, T> reader
+) {}
@@ -0,0 +1,19 @@
+package com.example.dto.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+// 모든 서비스의 이벤트 프로듀서가 사용하는 Kafka value serializer.
+// 이미 인코딩된 byte[] (예: outbox 에 저장된 payload)는 그대로 보냅니다.
+public class EventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] bytes) {
+            return bytes;
+        }
+        return EventCodec.encode(data);
+    }
+}
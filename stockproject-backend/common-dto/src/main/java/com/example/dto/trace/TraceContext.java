@@ -0,0 +1,36 @@
+package com.example.dto.trace;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 서비스 사이에 Kafka 헤더로 전달하는 추적 정보.
+// - traceparent       : W3C Trace Context 형식 ("00-{traceId 32자리}-{spanId 16자리}-01"). 주문 이벤트가 outbox 에 기록될 때 만들어집니다.
+// - outbox-created-at : 이벤트가 outbox 에 기록된 시각(epoch millis). 주문 트랜잭션 커밋 직전 시각이며,
+//                       컨슈머는 이 값으로 커밋부터 재고 반영까지의 지연을 잽니다. (서버 간 시계 차이만큼 오차가 있습니다)
+public final class TraceContext {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String CREATED_AT_HEADER = "outbox-created-at";
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private TraceContext() {
+    }
+
+    public static String newTraceparent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] traceId = new byte[16];
+        byte[] spanId = new byte[8];
+        random.nextBytes(traceId);
+        random.nextBytes(spanId);
+        return "00-" + HEX.formatHex(traceId) + "-" + HEX.formatHex(spanId) + "-01";
+    }
+
+    // traceparent 에서 traceId 만 꺼냅니다. 형식이 맞지 않으면 null
+    public static String traceId(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55 || traceparent.charAt(2) != '-') {
+            return null;
+        }
+        return traceparent.substring(3, 35);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.dto.codec;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.OrderPaidEvent;
+import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecTest {
+
+    private final OrderCreatedEvent createdEvent = new OrderCreatedEvent(
+            "order-id-101", 1L, 50000L, LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123456789),
+            List.of(new OrderItemPayload("product-id-101", 2, 10000L),
+                    new OrderItemPayload("product-id-102", 3, 10000L)));
+
+    @Test
+    @DisplayName("인코딩/디코딩: 모든 이벤트 타입이 원래 값 그대로 복원된다.")
+    void roundTrip_AllEventTypes() {
+        // given
+        List<Object> events = List.of(
+                createdEvent,
+                new OrderCancelledEvent("order-id-101", 1L, 50000L, LocalDateTime.now(), List.of()),
+                new ProductCreatedEvent("product-id-101", 100),
+                new ProductDeletedEvent("product-id-101"),
+                new OrderPaidEvent("order-id-101", 1L, LocalDateTime.now(), List.of(new OrderItemPayload("product-id-101", 2, 10000L))));
+
+        // when & then
+        for (Object event : events) {
+            assertThat(EventCodec.decode(EventCodec.encode(event))).isEqualTo(event);
+        }
+    }
+
+    @Test
+    @DisplayName("인코딩/디코딩: null 필드와 한글 문자열도 그대로 복원된다.")
+    void roundTrip_NullsAndUnicode() {
+        // given
+        OrderCreatedEvent event = new OrderCreatedEvent("주문-한글", null, -1L, null, null);
+
+        // when
+        OrderCreatedEvent decoded = EventCodec.decode(EventCodec.encode(event), OrderCreatedEvent.class);
+
+        // then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("인코딩: 헤더(MAGIC, 버전, 타입)가 붙고, 같은 이벤트의 JSON 보다 작다.")
+    void encode_HeaderAndSize() throws Exception {
+        // when
+        byte[] encoded = EventCodec.encode(createdEvent);
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(createdEvent);
+
+        // then
+        assertThat(encoded[0]).isEqualTo(EventCodec.MAGIC);
+        assertThat(encoded[1]).isEqualTo(EventCodec.FORMAT_VERSION);
+        assertThat(encoded.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    @DisplayName("스키마 변경: 뒤쪽 필드가 없는 이전 메시지는 없는 필드를 null 로 읽는다.")
+    void decode_MissingTrailingFields() {
+        // given : ProductCreatedEvent 에 initialStock 이 없던 시절의 메시지
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeByte(EventCodec.MAGIC);
+        writer.writeByte(EventCodec.FORMAT_VERSION);
+        writer.writeByte(3);
+        writer.writeString("product-id-101");
+
+        // when
+        ProductCreatedEvent decoded = EventCodec.decode(writer.toByteArray(), ProductCreatedEvent.class);
+
+        // then
+        assertThat(decoded).isEqualTo(new ProductCreatedEvent("product-id-101", 0));
+    }
+
+    @Test
+    @DisplayName("스키마 변경: items 가 추가되기 전의 주문 결제 메시지는 items 를 null 로 읽는다.")
+    void decode_OrderPaidWithoutItems() {
+        // given
+        LocalDateTime paidAt = LocalDateTime.of(2025, 6, 1, 12, 30);
+        BinaryWriter writer = new BinaryWriter(32);
+        writer.writeByte(EventCodec.MAGIC);
+        writer.writeByte(EventCodec.FORMAT_VERSION);
+        writer.writeByte(5);
+        writer.writeString("order-id-101");
+        writer.writeNullableLong(1L);
+        writer.writeDateTime(paidAt);
+
+        // when
+        OrderPaidEvent decoded = EventCodec.decode(writer.toByteArray(), OrderPaidEvent.class);
+
+        // then
+        assertThat(decoded).isEqualTo(new OrderPaidEvent("order-id-101", 1L, paidAt, null));
+    }
+
+    @Test
+    @DisplayName("스키마 변경: 새 버전이 목록 원소 뒤에 추가한 필드는 건너뛰고 읽는다.")
+    void decode_UnknownTrailingFieldsInItems() {
+        // given : OrderItemPayload 에 필드가 하나 더 생긴 미래 버전의 메시지
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(EventCodec.MAGIC);
+        writer.writeByte(EventCodec.FORMAT_VERSION);
+        writer.writeByte(1);
+        writer.writeString("order-id-101");
+        writer.writeNullableLong(1L);
+        writer.writeNullableLong(20000L);
+        writer.writeDateTime(null);
+        writer.writeList(List.of("unused"), (w, ignored) -> {
+            w.writeString("product-id-101");
+            w.writeNullableInt(2);
+            w.writeNullableLong(10000L);
+            w.writeString("새로 추가된 필드");
+        });
+
+        // when
+        OrderCreatedEvent decoded = EventCodec.decode(writer.toByteArray(), OrderCreatedEvent.class);
+
+        // then
+        assertThat(decoded.items()).containsExactly(new OrderItemPayload("product-id-101", 2, 10000L));
+    }
+
+    @Test
+    @DisplayName("디코딩: 실패 - 모르는 포맷 버전이나 잘린 메시지는 거부한다.")
+    void decode_RejectsUnknownVersionAndTruncated() {
+        // given
+        byte[] encoded = EventCodec.encode(createdEvent);
+        byte[] futureVersion = encoded.clone();
+        futureVersion[1] = (byte) (EventCodec.FORMAT_VERSION + 1);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 5);
+
+        // when & then
+        assertThatThrownBy(() -> EventCodec.decode(futureVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("지원하지 않는 이벤트 포맷 버전입니다");
+        assertThatThrownBy(() -> EventCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.dto.codec;
+
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventDeserializerTest {
+
+    private final EventSerializer serializer = new EventSerializer();
+    private final EventDeserializer deserializer = new EventDeserializer();
+
+    @Test
+    @DisplayName("역직렬화: 바이너리 메시지는 토픽과 관계없이 헤더의 타입으로 읽는다.")
+    void deserialize_Binary() {
+        // given
+        ProductCreatedEvent event = new ProductCreatedEvent("product-id-101", 100);
+
+        // when
+        Object deserialized = deserializer.deserialize("product-created", serializer.serialize("product-created", event));
+
+        // then
+        assertThat(deserialized).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("역직렬화: 마이그레이션 기간의 이전 JSON 메시지도 토픽별 타입으로 읽는다.")
+    void deserialize_LegacyJson() {
+        // given
+        String message = "{\"orderId\":\"order-id-101\",\"userId\":1,\"totalPrice\":20000,\"createdAt\":\"2023-01-01T12:00:00\",\"items\":[{\"productId\":\"product-id-101\",\"quantity\":2,\"price\":10000}]}";
+
+        // when
+        Object deserialized = deserializer.deserialize("order-created", message.getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(deserialized).isEqualTo(new OrderCreatedEvent("order-id-101", 1L, 20000L,
+                LocalDateTime.of(2023, 1, 1, 12, 0), List.of(new OrderItemPayload("product-id-101", 2, 10000L))));
+    }
+
+    @Test
+    @DisplayName("역직렬화: 이전 상품 삭제 메시지(ID 문자열)는 따옴표 유무와 관계없이 읽는다.")
+    void deserialize_LegacyProductDeleted() {
+        // when & then
+        assertThat(deserializer.deserialize("product-deleted", "product-id-101".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new ProductDeletedEvent("product-id-101"));
+        assertThat(deserializer.deserialize("product-deleted", "\"product-id-101\"".getBytes(StandardCharsets.UTF_8)))
+                .isEqualTo(new ProductDeletedEvent("product-id-101"));
+    }
+
+    @Test
+    @DisplayName("역직렬화: 실패 - 잘못된 JSON 메시지는 예외를 던진다.")
+    void deserialize_InvalidJson() {
+        // when & then
+        assertThatThrownBy(() -> deserializer.deserialize("order-created", "invalid-json-message".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("직렬화: 이미 인코딩된 byte[] 는 그대로 보낸다.")
+    void serialize_PassesThroughBytes() {
+        // given
+        byte[] encoded = EventCodec.encode(new ProductDeletedEvent("product-id-101"));
+
+        // when & then
+        assertThat(serializer.serialize("product-deleted", encoded)).isSameAs(encoded);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// 부하 테스트 옵션. "--rate=500 --duration=2m" 처럼 --이름=값 으로 넘깁니다.
+// - rate          : 초당 주문 요청 수. 응답을 기다리지 않고 이 간격대로 보냅니다. (open-loop)
+// - duration      : 측정 시간. warmup 이 끝난 뒤부터 잽니다.
+// - warmup        : 측정 전 같은 부하로 JIT/커넥션/캐시를 데우는 시간. 이 동안의 요청은 집계하지 않습니다.
+// - drain         : 요청을 다 보낸 뒤 남은 재고 차감을 기다리는 최대 시간
+// - products      : 등록할 상품 수. 주문은 이 중에서 고릅니다.
+// - items         : 주문 한 건의 최대 상품 수 (1 ~ items 개)
+// - initial-stock : 상품마다 넣어 둘 초기 재고. 측정 중 바닥나지 않게 충분히 크게 잡습니다.
+// - partitions    : 내장 Kafka 토픽의 파티션 수 (stock.consumer.concurrency 와 맞추면 모든 컨슈머 스레드가 일합니다)
+// - mongo-uri     : 내장 MongoDB 대신 쓸 MongoDB 주소. (내장 MongoDB 는 첫 실행 때 바이너리를 내려받습니다)
+// - virtual-threads : 서비스들을 spring.threads.virtual.enabled=true 로 띄웁니다.
+record LoadTestOptions(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Duration drain,
+        int products,
+        int maxItemsPerOrder,
+        int initialStock,
+        int kafkaPartitions,
+        String mongoUri,
+        boolean virtualThreads,
+        Path outputDir
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("옵션은 --이름=값 형식이어야 합니다: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("drain", "30s")),
+                Integer.parseInt(values.getOrDefault("products", "100")),
+                Integer.parseInt(values.getOrDefault("items", "3")),
+                Integer.parseInt(values.getOrDefault("initial-stock", "100000000")),
+                Integer.parseInt(values.getOrDefault("partitions", "3")),
+                values.get("mongo-uri"),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Path.of(System.getProperty("loadtest.output-dir", "build/loadtest")));
+
+        values.keySet().removeAll(Set.of("rate", "duration", "warmup", "drain", "products", "items",
+                "initial-stock", "partitions", "mongo-uri", "virtual-threads"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 옵션입니다: " + values.keySet());
+        }
+        if (options.rate < 1 || options.products < 1 || options.maxItemsPerOrder < 1) {
+            throw new IllegalArgumentException("rate, products, items 는 1 이상이어야 합니다.");
+        }
+        if (options.maxItemsPerOrder > options.products) {
+            throw new IllegalArgumentException("items 는 products 보다 클 수 없습니다.");
+        }
+        return options;
+    }
+
+    // "30s", "2m", "1h" 형식
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
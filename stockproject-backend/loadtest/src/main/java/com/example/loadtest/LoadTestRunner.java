@@ -0,0 +1,208 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 주문 파이프라인 종단 간 부하 테스트.
+// 1. 로컬 대역(Kafka, Redis, MongoDB)을 띄우고, 네 서비스를 각각 자식 JVM 으로 띄웁니다. (MySQL 대신 서비스별 H2)
+// 2. product-service 로 상품을 등록하고, product-created 이벤트로 stock-service 에 재고가 생길 때까지 기다립니다.
+// 3. order-service 에 open-loop 로 주문을 보내며 응답 지연과, 접수부터 재고 차감까지의 시간을 HDR 히스토그램에 기록합니다.
+// 실행: gradle :stockproject-backend:loadtest:loadTest --args="--rate=200 --duration=60s"
+@Slf4j
+public class LoadTestRunner {
+
+    private static final Duration STOCK_SEED_TIMEOUT = Duration.ofMinutes(1);
+
+    public static void main(String[] args) {
+        int exitCode = 0;
+        try {
+            run(LoadTestOptions.parse(args));
+        } catch (Exception e) {
+            log.error("부하 테스트에 실패했습니다.", e);
+            exitCode = 1;
+        }
+        // 내장 Kafka/MongoDB 가 남긴 non-daemon 스레드 때문에 JVM 이 끝나지 않을 수 있어 직접 종료합니다.
+        System.exit(exitCode);
+    }
+
+    private static void run(LoadTestOptions options) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        try (StandIns standIns = StandIns.start(options)) {
+            // 서비스를 먼저 내리고 나서 대역을 내립니다.
+            List<ServiceProcess> services = new ArrayList<>();
+            try {
+                runAgainst(options, standIns, services, httpClient, objectMapper);
+            } finally {
+                for (ServiceProcess service : services.reversed()) {
+                    service.close();
+                }
+            }
+        }
+    }
+
+    private static void runAgainst(LoadTestOptions options, StandIns standIns, List<ServiceProcess> services,
+                                   HttpClient httpClient, ObjectMapper objectMapper) throws IOException, InterruptedException {
+        Path logDir = options.outputDir().resolve("logs");
+        Map<String, String> common = new LinkedHashMap<>();
+        common.put("spring.kafka.bootstrap-servers", standIns.kafkaBootstrapServers());
+        // 컨슈머가 파티션을 받기 전에 발행된 이벤트(상품 등록 등)도 읽도록 처음부터 읽습니다.
+        common.put("spring.kafka.consumer.auto-offset-reset", "earliest");
+        common.put("spring.data.redis.host", "localhost");
+        common.put("spring.data.redis.port", String.valueOf(standIns.redisPort()));
+        common.put("spring.threads.virtual.enabled", String.valueOf(options.virtualThreads()));
+
+        Map<String, String> product = new LinkedHashMap<>(common);
+        product.put("spring.data.mongodb.uri", standIns.mongoUri());
+        ServiceProcess productService = ServiceProcess.launch("product-service", Ports.free(), product, logDir);
+        services.add(productService);
+
+        ServiceProcess stockService = ServiceProcess.launch("stock-service", Ports.free(), common, logDir);
+        services.add(stockService);
+
+        Map<String, String> user = new LinkedHashMap<>(common);
+        user.putAll(h2("users"));
+        user.put("jwt.secret", randomJwtSecret());
+        user.put("jwt.expiration-time", "3600000");
+        services.add(ServiceProcess.launch("user-service", Ports.free(), user, logDir));
+
+        // Eureka 대신 고정된 주소로 product-service, stock-service 를 찾습니다. (Spring Cloud SimpleDiscoveryClient)
+        Map<String, String> order = new LinkedHashMap<>(common);
+        order.putAll(h2("orders"));
+        order.put("spring.cloud.discovery.client.simple.instances.product-service[0].uri", productService.baseUri().toString());
+        order.put("spring.cloud.discovery.client.simple.instances.stock-service[0].uri", stockService.baseUri().toString());
+        ServiceProcess orderService = ServiceProcess.launch("order-service", Ports.free(), order, logDir);
+        services.add(orderService);
+
+        for (ServiceProcess service : services) {
+            service.awaitReady(httpClient);
+        }
+
+        List<String> productIds = registerProducts(httpClient, objectMapper, productService.baseUri(), options);
+        awaitStock(httpClient, objectMapper, stockService.baseUri(), productIds);
+
+        try (StockDecrementTracker tracker = new StockDecrementTracker(standIns.redisPort())) {
+            OpenLoopOrderTraffic.Result result = new OpenLoopOrderTraffic(
+                    httpClient, orderService.baseUri(), objectMapper, productIds, options, tracker).run();
+            tracker.awaitDecrements(options.drain());
+            report(options, result, tracker);
+        }
+    }
+
+    // 서비스마다 자기 프로세스 안의 인메모리 H2 를 씁니다. 스키마는 엔티티로 만듭니다.
+    private static Map<String, String> h2(String database) {
+        return Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "",
+                "spring.jpa.hibernate.ddl-auto", "create");
+    }
+
+    // HS512 서명 키 (64바이트)
+    private static String randomJwtSecret() {
+        byte[] secret = new byte[64];
+        ThreadLocalRandom.current().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    private static List<String> registerProducts(HttpClient httpClient, ObjectMapper objectMapper, URI productServiceUri,
+                                                 LoadTestOptions options) throws IOException, InterruptedException {
+        List<String> productIds = new ArrayList<>(options.products());
+        for (int i = 0; i < options.products(); i++) {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of(
+                    "name", "load-test-product-" + i,
+                    "price", 1000L + i,
+                    "initialStock", options.initialStock()));
+            HttpRequest request = HttpRequest.newBuilder(productServiceUri.resolve("/api/v1/product"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("상품 등록에 실패했습니다. status: " + response.statusCode());
+            }
+            productIds.add(objectMapper.readTree(response.body()).path("productId").asText());
+        }
+        log.info("상품 {}개를 등록했습니다.", productIds.size());
+        return productIds;
+    }
+
+    // 모든 상품의 재고가 stock-service 에 생길 때까지 기다립니다. (product-created 이벤트 처리)
+    private static void awaitStock(HttpClient httpClient, ObjectMapper objectMapper, URI stockServiceUri,
+                                   List<String> productIds) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                stockServiceUri.resolve("/api/v1/stock/list?ids=" + String.join(",", productIds))).build();
+        long deadline = System.nanoTime() + STOCK_SEED_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode stocks = objectMapper.readTree(response.body());
+            if (response.statusCode() == 200 && stocks.size() == productIds.size()) {
+                log.info("모든 상품의 재고가 준비되었습니다.");
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("상품 재고가 " + STOCK_SEED_TIMEOUT + " 안에 준비되지 않았습니다.");
+    }
+
+    private static void report(LoadTestOptions options, OpenLoopOrderTraffic.Result result,
+                               StockDecrementTracker tracker) throws IOException {
+        Files.createDirectories(options.outputDir());
+        Path requestLatencyFile = options.outputDir().resolve("order-latency.hgrm");
+        Path decrementLatencyFile = options.outputDir().resolve("accept-to-stock-decrement.hgrm");
+        writePercentiles(result.latencies(), requestLatencyFile);
+        writePercentiles(tracker.latencies(), decrementLatencyFile);
+
+        PrintStream out = System.out;
+        out.println();
+        out.println("=== 주문 파이프라인 부하 테스트 결과 ===");
+        out.printf("목표 처리량          : %d orders/s (open-loop, 측정 %s, 워밍업 %s 제외)%n",
+                options.rate(), options.duration(), options.warmup());
+        out.printf("주문 요청            : 성공 %d, 실패 %d%n", result.succeeded(), result.failed());
+        out.printf("처리량               : %.1f orders/s%n", result.throughput());
+        out.printf("주문 응답 지연       : %s%n", percentiles(result.latencies()));
+        out.printf("접수 -> 재고 차감    : %s%n", percentiles(tracker.latencies()));
+        out.printf("재고 차감 확인       : %d / %d%n", tracker.measuredDecremented(), tracker.measuredAccepted());
+        out.printf("HDR 히스토그램       : %s, %s%n", requestLatencyFile, decrementLatencyFile);
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "기록 없음";
+        }
+        return String.format("p50 %.2fms  p99 %.2fms  p99.9 %.2fms  max %.2fms",
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    // HdrHistogram 퍼센타일 분포 파일. 마이크로초 값을 밀리초로 바꿔서 씁니다. (HistogramLogAnalyzer 등으로 그래프를 그릴 수 있습니다)
+    private static void writePercentiles(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
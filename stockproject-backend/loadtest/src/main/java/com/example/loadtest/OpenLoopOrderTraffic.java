@@ -0,0 +1,141 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// ⭐️ open-loop 부하: i 번째 요청은 응답과 상관없이 start + i / rate 시각에 보냅니다.
+// 응답을 기다렸다 다음 요청을 보내는(closed-loop) 방식은 서버가 느려지면 요청도 덜 보내서 느린 구간이 결과에서 빠집니다. (coordinated omission)
+// 지연은 실제로 보낸 시각이 아니라 보냈어야 할 시각부터 잽니다. 보내는 쪽이 밀려도 그만큼 지연에 포함됩니다.
+@Slf4j
+class OpenLoopOrderTraffic {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI orderUri;
+    private final ObjectMapper objectMapper;
+    private final List<String> productIds;
+    private final LoadTestOptions options;
+    private final StockDecrementTracker tracker;
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopOrderTraffic(HttpClient httpClient, URI orderServiceUri, ObjectMapper objectMapper,
+                         List<String> productIds, LoadTestOptions options, StockDecrementTracker tracker) {
+        this.httpClient = httpClient;
+        this.orderUri = orderServiceUri.resolve("/api/v1/orders");
+        this.objectMapper = objectMapper;
+        this.productIds = productIds;
+        this.options = options;
+        this.tracker = tracker;
+    }
+
+    // 워밍업 + 측정 시간 동안 요청을 보내고, 보낸 요청의 응답이 모두 올 때까지 기다립니다.
+    Result run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        log.info("주문 요청을 시작합니다. {} orders/s, 워밍업 {}, 측정 {}", options.rate(), options.warmup(), options.duration());
+
+        for (long i = 0; ; i++) {
+            long intendedAt = start + i * intervalNanos;
+            if (intendedAt >= end) {
+                break;
+            }
+            long wait = intendedAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(intendedAt, intendedAt >= measureFrom);
+        }
+
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return new Result(latencies, succeeded.sum(), failed.sum(), options.duration());
+    }
+
+    private void send(long intendedAt, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(orderUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(randomOrder()))
+                .build();
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    long completedAt = System.nanoTime();
+                    try {
+                        if (measured) {
+                            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(completedAt - intendedAt));
+                        }
+                        if (error == null && response.statusCode() == 201) {
+                            tracker.accepted(orderId(response.body()), completedAt, measured);
+                            if (measured) {
+                                succeeded.increment();
+                            }
+                        } else if (measured) {
+                            failed.increment();
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    // 상품 1 ~ items 개를 겹치지 않게 골라 각각 1 ~ 3 개씩 주문합니다.
+    private byte[] randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int itemCount = random.nextInt(options.maxItemsPerOrder()) + 1;
+        List<String> picked = new ArrayList<>(productIds);
+        Collections.shuffle(picked, random);
+        List<Map<String, Object>> items = picked.subList(0, itemCount).stream()
+                .map(productId -> Map.<String, Object>of("productId", productId, "quantity", random.nextInt(3) + 1))
+                .toList();
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("userId", random.nextLong(1, 10_000), "items", items));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String orderId(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("orderId").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // latencies : 측정 구간에 보낸 요청의 응답 지연(마이크로초). 실패한 요청도 포함합니다.
+    record Result(Histogram latencies, long succeeded, long failed, Duration measured) {
+
+        double throughput() {
+            return succeeded / (measured.toNanos() / 1e9);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+final class Ports {
+
+    private Ports() {
+    }
+
+    // 운영체제가 골라 준 빈 포트. 소켓을 닫은 뒤 쓰므로 드물게 다른 프로세스와 겹칠 수 있습니다.
+    static int free() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("빈 포트를 찾지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 서비스 하나의 bootJar 를 자식 JVM 으로 띄웁니다.
+// 서비스마다 프로세스를 나누어 실제 배포처럼 클래스패스/힙/스레드 풀이 서로 섞이지 않게 합니다.
+// Config Server 와 Eureka 없이 뜨도록 필요한 설정은 모두 커맨드라인 인자로 넘깁니다.
+@Slf4j
+class ServiceProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final String name;
+    private final int port;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, int port, Process process, Path logFile) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    static ServiceProcess launch(String name, int port, Map<String, String> properties, Path logDir) throws IOException {
+        String jar = System.getProperty("loadtest.jar." + name);
+        if (jar == null || !Files.exists(Path.of(jar))) {
+            throw new IllegalStateException(name + " 의 bootJar 가 없습니다. gradle loadTest 태스크로 실행하세요. jar: " + jar);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-Xmx512m");
+        // bootstrap.yml 의 Config Server 연결(fail-fast)을 끕니다. 부트스트랩 컨텍스트보다 먼저 읽혀야 하므로 시스템 프로퍼티로 넘깁니다.
+        command.add("-Dspring.cloud.bootstrap.enabled=false");
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        command.add("--spring.cloud.config.enabled=false");
+        command.add("--eureka.client.enabled=false");
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        // Ctrl+C 로 하네스를 멈춰도 서비스 프로세스가 남지 않게 합니다.
+        Runtime.getRuntime().addShutdownHook(new Thread(process::destroyForcibly));
+        log.info("{} 를 시작합니다. port: {}, log: {}", name, port, logFile);
+        return new ServiceProcess(name, port, process, logFile);
+    }
+
+    // 내장 톰캣이 요청을 받을 때까지 기다립니다. 톰캣은 컨텍스트가 모두 뜬 뒤에 열리므로 응답 코드는 상관없습니다.
+    void awaitReady(HttpClient httpClient) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri().resolve("/")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " 가 기동 중에 종료되었습니다. 로그를 확인하세요: " + logFile);
+            }
+            try {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                log.info("{} 가 준비되었습니다.", name);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(name + " 가 " + STARTUP_TIMEOUT + " 안에 뜨지 않았습니다. 로그를 확인하세요: " + logFile);
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + port);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(20, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
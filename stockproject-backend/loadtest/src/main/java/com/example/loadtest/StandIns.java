@@ -0,0 +1,100 @@
+package com.example.loadtest;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+
+// 서비스들이 붙을 로컬 대역(Kafka, Redis, MongoDB). 모두 하네스 프로세스 안에서(또는 자식 프로세스로) 실행됩니다.
+// MySQL 대신 쓰는 H2 는 서비스마다 자기 프로세스 안의 인메모리 DB 를 씁니다. (ServiceProcess 참고)
+@Slf4j
+class StandIns implements AutoCloseable {
+
+    // 서비스들이 주고받는 토픽. 미리 만들어 두어 파티션 수를 맞춥니다. (자동 생성되면 파티션이 1개)
+    private static final String[] TOPICS = {
+            "product-created", "product-deleted", "order-stock-events"};
+
+    private EmbeddedKafkaBroker kafka;
+    private RedisServer redis;
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private int redisPort;
+    private String mongoUri;
+
+    static StandIns start(LoadTestOptions options) throws IOException {
+        StandIns standIns = new StandIns();
+        try {
+            standIns.startKafka(options.kafkaPartitions());
+            standIns.startRedis();
+            standIns.startMongo(options.mongoUri());
+            return standIns;
+        } catch (IOException | RuntimeException e) {
+            standIns.close();
+            throw e;
+        }
+    }
+
+    private void startKafka(int partitions) {
+        kafka = new EmbeddedKafkaKraftBroker(1, partitions, TOPICS);
+        kafka.afterPropertiesSet();
+        log.info("내장 Kafka 를 시작했습니다. {}", kafka.getBrokersAsString());
+    }
+
+    private void startRedis() throws IOException {
+        redisPort = Ports.free();
+        // K: 키스페이스 채널, h: 해시 명령. 재고 예약(HSET stock-reservation:{orderId})을 구독하는 데 씁니다.
+        redis = RedisServer.newRedisServer()
+                .port(redisPort)
+                .setting("notify-keyspace-events Kh")
+                .build();
+        redis.start();
+        log.info("내장 Redis 를 시작했습니다. localhost:{}", redisPort);
+    }
+
+    private void startMongo(String externalUri) {
+        if (externalUri != null) {
+            mongoUri = externalUri;
+            log.info("외부 MongoDB 를 사용합니다. {}", mongoUri);
+            return;
+        }
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/stockproject";
+        log.info("내장 MongoDB 를 시작했습니다. {}", mongoUri);
+    }
+
+    String kafkaBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    int redisPort() {
+        return redisPort;
+    }
+
+    String mongoUri() {
+        return mongoUri;
+    }
+
+    @Override
+    public void close() {
+        if (mongod != null) {
+            mongod.close();
+        }
+        if (redis != null) {
+            try {
+                redis.stop();
+            } catch (IOException e) {
+                log.warn("내장 Redis 를 종료하지 못했습니다.", e);
+            }
+        }
+        if (kafka != null) {
+            kafka.destroy();
+        }
+    }
+}
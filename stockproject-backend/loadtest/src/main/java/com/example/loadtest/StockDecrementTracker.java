@@ -0,0 +1,112 @@
+package com.example.loadtest;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 주문 접수(order-service 201 응답)부터 재고 차감(stock-service 가 Redis 에 재고 예약을 기록)까지의 시간을 잽니다.
+// stock-service 의 차감 스크립트는 성공한 주문마다 HSET stock-reservation:{orderId} 를 실행하므로,
+// 그 키스페이스 알림을 받은 시각을 차감 시각으로 봅니다. (아웃박스 릴레이 -> Kafka -> 컨슈머 -> Redis 전체 구간)
+// 알림이 응답보다 먼저 도착할 수도 있어 두 시각 중 늦게 온 쪽에서 기록합니다.
+class StockDecrementTracker implements AutoCloseable {
+
+    private static final String RESERVATION_CHANNEL_PREFIX = "__keyspace@0__:stock-reservation:";
+
+    // 밀리초 단위가 아니라 마이크로초로 기록합니다. (유효숫자 3자리)
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final ConcurrentHashMap<String, Timing> timings = new ConcurrentHashMap<>();
+    private final LongAdder measuredAccepted = new LongAdder();
+    private final LongAdder measuredDecremented = new LongAdder();
+
+    private final RedisClient redisClient;
+    private final StatefulRedisPubSubConnection<String, String> connection;
+
+    StockDecrementTracker(int redisPort) {
+        redisClient = RedisClient.create("redis://localhost:" + redisPort);
+        connection = redisClient.connectPubSub();
+        connection.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String pattern, String channel, String message) {
+                if ("hset".equals(message)) {
+                    reserved(channel.substring(RESERVATION_CHANNEL_PREFIX.length()), System.nanoTime());
+                }
+            }
+        });
+        connection.sync().psubscribe(RESERVATION_CHANNEL_PREFIX + "*");
+    }
+
+    // measured : 워밍업이 끝난 뒤 보낸 주문인지. 측정 대상만 히스토그램에 넣습니다.
+    void accepted(String orderId, long acceptedAt, boolean measured) {
+        if (measured) {
+            measuredAccepted.increment();
+        }
+        timings.compute(orderId, (id, timing) -> {
+            if (timing == null) {
+                return new Timing(acceptedAt, -1, measured);
+            }
+            record(acceptedAt, timing.reservedAt(), measured);
+            return new Timing(acceptedAt, timing.reservedAt(), measured);
+        });
+    }
+
+    private void reserved(String orderId, long reservedAt) {
+        timings.compute(orderId, (id, timing) -> {
+            if (timing == null) {
+                return new Timing(-1, reservedAt, false);
+            }
+            if (timing.reservedAt() >= 0) {
+                // 상품이 여러 개인 주문은 상품마다 HSET 알림이 옵니다. 첫 알림만 씁니다.
+                return timing;
+            }
+            if (timing.acceptedAt() >= 0) {
+                record(timing.acceptedAt(), reservedAt, timing.measured());
+            }
+            return new Timing(timing.acceptedAt(), reservedAt, timing.measured());
+        });
+    }
+
+    private void record(long acceptedAt, long reservedAt, boolean measured) {
+        if (!measured) {
+            return;
+        }
+        // 알림이 응답 처리보다 먼저 도착한 경우는 0 으로 기록합니다.
+        latencies.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(reservedAt - acceptedAt)));
+        measuredDecremented.increment();
+    }
+
+    // 측정 대상 주문이 모두 차감되거나 timeout 이 지날 때까지 기다립니다.
+    void awaitDecrements(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (measuredDecremented.sum() < measuredAccepted.sum() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long measuredAccepted() {
+        return measuredAccepted.sum();
+    }
+
+    long measuredDecremented() {
+        return measuredDecremented.sum();
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+        redisClient.shutdown();
+    }
+
+    private record Timing(long acceptedAt, long reservedAt, boolean measured) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.orderservice.cache;
+
+import com.example.orderservice.client.ProductClient;
+import com.example.orderservice.dto.response.ProductResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// product-service 상품 정보를 productId 기준으로 보관하는 로컬 캐시.
+// 가격은 거의 바뀌지 않으므로 주문마다 HTTP 호출을 하지 않고, 캐시에 없는 ID만 조회합니다.
+// 상품 생성/삭제 이벤트(ProductEventConsumer)가 오면 해당 항목을 바로 제거합니다.
+// product-service 호출이 실패하면(타임아웃, 서킷 오픈 등) TTL 이 지난 항목이라도 마지막으로 받은 상품 정보로 대신합니다.
+// ⭐️ 조회가 진행되는 사이 이벤트로 제거된 상품은 조회 결과를 캐시에 넣지 않습니다. (제거 전에 읽은 이전 값이 TTL 동안 남지 않도록)
+//    제거할 때마다 세대(generation)를 올려 상품별로 기록하고, 조회 시작 시점의 세대보다 나중에 제거된 상품은 건너뜁니다.
+//    이 기록은 eviction-window 동안만 보관하므로 eviction-window 는 조회 한 번(재시도 포함)보다 길어야 합니다.
+@Component
+@Slf4j
+public class ProductCatalogCache {
+
+    private final ProductClient productClient;
+    private final Cache<String, ProductResponseDto> cache;
+    // 장애 시 대신 쓸 마지막으로 받은 상품 정보. TTL 없이 크기로만 제한합니다.
+    private final Cache<String, ProductResponseDto> lastKnown;
+    // productId -> 마지막으로 제거된 세대. 캐시에 넣는 것과 제거하는 것은 이 맵의 키 잠금(compute) 안에서 합니다.
+    private final Cache<String, Long> evictedAt;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter invalidations;
+    private final Counter fallbacks;
+
+    public ProductCatalogCache(
+            ProductClient productClient,
+            MeterRegistry meterRegistry,
+            @Value("${order.product-cache.maximum-size:10000}") long maximumSize,
+            @Value("${order.product-cache.ttl:10m}") Duration ttl,
+            @Value("${order.product-cache.eviction-window:1m}") Duration evictionWindow) {
+        this.productClient = productClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .expireAfterWrite(evictionWindow)
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size 등의 지표를 등록합니다.
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productCatalog");
+        this.invalidations = Counter.builder("product.catalog.invalidations")
+                .description("Kafka 상품 이벤트로 제거된 캐시 항목 수")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("product.catalog.fallbacks")
+                .description("product-service 호출 실패로 마지막 상품 정보를 대신 사용한 조회 수")
+                .register(meterRegistry);
+    }
+
+    // 캐시에 있는 상품은 그대로 사용하고, 없는 ID만 모아 product-service 에 한 번 조회합니다.
+    public Mono<List<ProductResponseDto>> findProducts(List<String> productIds) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(productIds));
+        Map<String, ProductResponseDto> cached = cache.getAllPresent(distinctIds);
+        List<String> missingIds = distinctIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        if (missingIds.isEmpty()) {
+            return Mono.just(new ArrayList<>(cached.values()));
+        }
+
+        long startedAt = generation.get();
+        return productClient.findProductsByIds(missingIds)
+                .map(fetched -> {
+                    List<ProductResponseDto> products = new ArrayList<>(cached.values());
+                    for (ProductResponseDto product : fetched) {
+                        putUnlessEvictedSince(product, startedAt);
+                        products.add(product);
+                    }
+                    return products;
+                })
+                .onErrorResume(e -> fallback(cached, missingIds, e));
+    }
+
+    // 조회하지 못한 상품이 모두 lastKnown 에 있을 때만 대신 사용합니다. 하나라도 없으면 원래 예외를 그대로 던집니다.
+    private Mono<List<ProductResponseDto>> fallback(Map<String, ProductResponseDto> cached, List<String> missingIds, Throwable error) {
+        Map<String, ProductResponseDto> stale = lastKnown.getAllPresent(missingIds);
+        if (stale.size() < missingIds.size()) {
+            return Mono.error(error);
+        }
+        fallbacks.increment();
+        log.warn("product-service 조회에 실패해 마지막 상품 정보를 사용합니다. ProductIds: {}, 원인: {}", missingIds, error.toString());
+        List<ProductResponseDto> products = new ArrayList<>(cached.values());
+        products.addAll(stale.values());
+        return Mono.just(products);
+    }
+
+    // 조회를 시작한 뒤 제거된 상품은 이번 요청에만 쓰고 캐시에는 넣지 않습니다.
+    private void putUnlessEvictedSince(ProductResponseDto product, long startedAt) {
+        evictedAt.asMap().compute(product.productId(), (productId, evictedGeneration) -> {
+            if (evictedGeneration == null || evictedGeneration <= startedAt) {
+                cache.put(productId, product);
+                lastKnown.put(productId, product);
+            }
+            return evictedGeneration;
+        });
+    }
+
+    public void evict(String productId) {
+        evictedAt.asMap().compute(productId, (id, evictedGeneration) -> {
+            cache.invalidate(id);
+            lastKnown.invalidate(id);
+            return generation.incrementAndGet();
+        });
+        invalidations.increment();
+        log.info("상품 캐시를 제거했습니다. ProductId: {}", productId);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.orderservice.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+// 최근 호출 결과(count 기반 슬라이딩 윈도우)로 열고 닫는 서킷 브레이커.
+// - CLOSED    : 모든 호출을 허용합니다. 윈도우가 다 찼을 때 실패율이 임계값 이상이면 OPEN
+// - OPEN      : open-duration 동안 호출하지 않고 바로 거절합니다. 시간이 지나면 HALF_OPEN
+// - HALF_OPEN : 시험 호출 한 건만 보냅니다. 성공하면 CLOSED(윈도우 초기화), 실패하면 다시 OPEN
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    // 링 버퍼. true 가 실패
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int windowSize, int failureRateThreshold, Duration openDuration) {
+        this(windowSize, failureRateThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int failureRateThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("서킷 브레이커 윈도우 크기는 1 이상이어야 합니다.");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("서킷 브레이커 실패율 임계값은 1~100 사이여야 합니다.");
+        }
+        this.windowSize = windowSize;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    // 호출해도 되면 true. HALF_OPEN 에서 true 를 받은 호출은 결과를 반드시 onSuccess/onError/onIgnored 로 알려야 합니다.
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (trialInFlight) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onError() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+        }
+    }
+
+    // 결과를 알 수 없는 호출(취소 등). 시험 호출이었다면 다음 호출이 다시 시험할 수 있게 풀어 줍니다.
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == windowSize) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+        // 윈도우가 성공으로 채워지는 순간에도 실패율이 임계값 이상일 수 있으므로 매번 확인합니다.
+        if (calls == windowSize && failures * 100 >= failureRateThreshold * windowSize) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        trialInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        Arrays.fill(outcomes, false);
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.orderservice.client;
+
+import com.example.orderservice.dto.response.ProductResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// product-service 호출을 담당합니다. 응답을 기다리는 동안 스레드를 붙잡지 않도록 Mono 를 그대로 반환합니다.
+// ⭐️ product-service 가 느려져도 주문 경로의 지연이 한없이 늘어나지 않도록 호출을 보호합니다.
+// - timeout         : 호출 한 번(시도 한 번)의 최대 대기 시간
+// - bulkhead        : 동시에 진행 중인 호출 수 제한. 넘치면 기다리지 않고 바로 실패합니다.
+// - circuit-breaker : 최근 호출의 실패율이 높으면 잠시 호출 자체를 멈춥니다. (CircuitBreaker)
+// - hedge           : 응답이 최근 p95 보다 늦으면 같은 요청을 한 번 더 보내 먼저 온 응답을 씁니다.
+//                     로드밸런서가 라운드로빈이라 두 번째 요청은 다음 product-service 인스턴스로 갑니다.
+// 거절되거나 실패한 호출은 예외로 끝나고, 캐시된 상품으로 대신할지는 ProductCatalogCache 가 정합니다.
+@Component
+public class ProductClient {
+
+    // p95 를 믿을 수 있을 만큼 응답이 쌓이기 전에는 hedge 하지 않습니다.
+    static final int HEDGE_MIN_SAMPLES = 100;
+    // 요청 한 번에 담는 최대 ID 수. ID 를 쿼리 스트링으로 보내므로, 넘치면 나눠서 보내 URL 이 서버 한도(기본 8KB)를 넘지 않게 합니다.
+    static final int MAX_IDS_PER_REQUEST = 100;
+    // 나눠 보낸 요청 중 동시에 진행하는 최대 수
+    static final int MAX_CONCURRENT_BATCHES = 4;
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final boolean hedgeEnabled;
+    private final Duration hedgeMinDelay;
+
+    private final Timer latency;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+    private final Counter hedges;
+
+    public ProductClient(
+            WebClient webClient,
+            MeterRegistry meterRegistry,
+            @Value("${order.product-client.timeout:2s}") Duration timeout,
+            @Value("${order.product-client.bulkhead.max-concurrent-calls:64}") int maxConcurrentCalls,
+            @Value("${order.product-client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${order.product-client.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${order.product-client.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${order.product-client.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${order.product-client.hedge.min-delay:20ms}") Duration hedgeMinDelay) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(slidingWindowSize, failureRateThreshold, openDuration);
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelay = hedgeMinDelay;
+
+        this.latency = Timer.builder("product.client.latency")
+                .description("product-service 응답 시간 (성공한 시도 한 번 기준)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.circuitOpenRejections = rejections(meterRegistry, "circuit-open");
+        this.bulkheadRejections = rejections(meterRegistry, "bulkhead-full");
+        this.hedges = Counter.builder("product.client.hedges")
+                .description("응답이 늦어 한 번 더 보낸 product-service 요청 수")
+                .register(meterRegistry);
+        // 0: CLOSED, 1: OPEN, 2: HALF_OPEN
+        Gauge.builder("product.client.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("product-service 서킷 브레이커 상태 (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+    }
+
+    //productId 여러개를 받아 상품을 리스트로 반환. ("api/v1/product/list?ids=213,231,222")일 경우 한번에 조회
+    // MAX_IDS_PER_REQUEST 개씩 나눠 조회하고 요청한 순서대로 합칩니다. 하나라도 실패하면 전체가 실패합니다.
+    public Mono<List<ProductResponseDto>> findProductsByIds(List<String> productIds) {
+        if (productIds.size() <= MAX_IDS_PER_REQUEST) {
+            return findBatch(productIds);
+        }
+        return Flux.fromIterable(productIds)
+                .buffer(MAX_IDS_PER_REQUEST)
+                .flatMapSequential(this::findBatch, MAX_CONCURRENT_BATCHES)
+                .flatMapIterable(products -> products)
+                .collectList();
+    }
+
+    // 나눠 보내는 요청 하나하나가 서킷 브레이커와 bulkhead 를 거칩니다.
+    private Mono<List<ProductResponseDto>> findBatch(List<String> productIds) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitOpenRejections.increment();
+                return Mono.error(new IllegalStateException("product-service 호출이 일시적으로 차단되었습니다. (서킷 오픈)"));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.onIgnored();
+                bulkheadRejections.increment();
+                return Mono.error(new IllegalStateException("product-service 동시 호출 수가 한도를 넘었습니다."));
+            }
+            return hedged(productIds)
+                    .doOnSuccess(products -> circuitBreaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isDependencyFailure(e)) {
+                            circuitBreaker.onError();
+                        } else {
+                            circuitBreaker.onIgnored();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    // hedge 요청은 bulkhead 자리를 따로 잡지 않습니다. (논리적인 호출은 하나)
+    private Mono<List<ProductResponseDto>> hedged(List<String> productIds) {
+        Duration hedgeDelay = hedgeDelay();
+        if (hedgeDelay == null) {
+            return attempt(productIds);
+        }
+        Mono<List<ProductResponseDto>> hedge = Mono.delay(hedgeDelay)
+                .then(Mono.defer(() -> {
+                    hedges.increment();
+                    return attempt(productIds);
+                }));
+        // 둘 다 실패하면 NoSuchElementException 에 실패 원인이 담겨 오므로, 먼저 보낸 요청의 예외로 돌려놓습니다.
+        return Mono.firstWithValue(attempt(productIds), hedge)
+                .onErrorMap(NoSuchElementException.class,
+                        e -> e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e);
+    }
+
+    private Mono<List<ProductResponseDto>> attempt(List<String> productIds) {
+        String idsString = String.join(",", productIds);
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            // ⭐️ "http://localhost:8081" 대신 서비스 이름 "product-service"를 사용합니다.
+                            .scheme("http").host("product-service")
+                            .path("/api/v1/product/list")
+                            .queryParam("ids", idsString)
+                            .build())
+                    .retrieve()
+                    .bodyToMono(ProductResponseDto[].class)
+                    .map(Arrays::asList)
+                    .defaultIfEmpty(List.of())
+                    .timeout(timeout)
+                    .doOnSuccess(products -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    // 최근 p95 (hedge.min-delay 보다 짧으면 min-delay). hedge 를 하지 않으면 null
+    private Duration hedgeDelay() {
+        if (!hedgeEnabled || latency.count() < HEDGE_MIN_SAMPLES) {
+            return null;
+        }
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                Duration p95 = Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+                return p95.compareTo(hedgeMinDelay) > 0 ? p95 : hedgeMinDelay;
+            }
+        }
+        return hedgeMinDelay;
+    }
+
+    // 4xx 는 요청이 잘못된 것이지 product-service 가 아픈 것이 아니므로 서킷 실패율에 넣지 않습니다.
+    private static boolean isDependencyFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError());
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("product.client.rejections")
+                .description("호출하지 않고 바로 실패시킨 product-service 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.orderservice.client;
+
+import com.example.orderservice.dto.response.StockResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// stock-service 재고 조회를 담당합니다.
+// 재고 사전 확인용이라 오래 기다릴 이유가 없으므로, timeout 이 지나면 실패로 끝내 호출한 쪽이 확인을 건너뛰게 합니다.
+@Component
+public class StockClient {
+
+    // 요청 한 번에 담는 최대 ID 수와 동시에 보내는 요청 수. (ProductClient 와 같은 이유로 나눠 보냅니다)
+    static final int MAX_IDS_PER_REQUEST = 100;
+    static final int MAX_CONCURRENT_BATCHES = 4;
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public StockClient(
+            WebClient webClient,
+            @Value("${order.stock-client.timeout:500ms}") Duration timeout) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+    }
+
+    // productId 여러개를 받아 판매 가능 수량을 리스트로 반환. ("api/v1/stock/list?ids=213,231,222") 재고 정보가 없는 상품은 빠집니다.
+    public Mono<List<StockResponseDto>> findStocksByIds(List<String> productIds) {
+        if (productIds.size() <= MAX_IDS_PER_REQUEST) {
+            return findBatch(productIds);
+        }
+        return Flux.fromIterable(productIds)
+                .buffer(MAX_IDS_PER_REQUEST)
+                .flatMapSequential(this::findBatch, MAX_CONCURRENT_BATCHES)
+                .flatMapIterable(stocks -> stocks)
+                .collectList();
+    }
+
+    private Mono<List<StockResponseDto>> findBatch(List<String> productIds) {
+        String idsString = String.join(",", productIds);
+
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .scheme("http").host("stock-service")
+                        .path("/api/v1/stock/list")
+                        .queryParam("ids", idsString)
+                        .build())
+                .retrieve()
+                .bodyToMono(StockResponseDto[].class)
+                .map(Arrays::asList)
+                .defaultIfEmpty(List.of())
+                .timeout(timeout);
+    }
+}
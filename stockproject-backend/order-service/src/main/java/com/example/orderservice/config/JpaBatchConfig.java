@@ -0,0 +1,42 @@
+package com.example.orderservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 주문/주문 상품 INSERT 를 JDBC 배치로 묶습니다.
+// spring.jpa.properties 에 같은 설정이 있으면 그 값을 따릅니다.
+@Configuration
+public class JpaBatchConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${order.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            // 여러 주문을 한 번에 저장할 때 INSERT 가 orders / order_items 로 번갈아 나오면 배치가 끊기므로 테이블별로 모읍니다.
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    // MySQL 드라이버는 rewriteBatchedStatements=true 일 때만 배치를 multi-row INSERT 한 번으로 보냅니다.
+    // (없으면 배치여도 문장마다 왕복합니다)
+    @Bean
+    public static BeanPostProcessor mysqlBatchRewritePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    dataSource.getDataSourceProperties().putIfAbsent("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
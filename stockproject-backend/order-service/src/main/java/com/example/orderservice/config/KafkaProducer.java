@@ -1,29 +1,25 @@
 package com.example.orderservice.config;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
 
-    // 객체를 JSON 문자열로 변환하여 지정된 토픽으로 메시지를 보냅니다.
-    public void send(String topic, Object payload) {
-        try {
-            String jsonPayload = objectMapper.writeValueAsString(payload);
-            kafkaTemplate.send(topic, jsonPayload);
-            log.info("Sent payload={} to topic={}", jsonPayload, topic);
-        } catch (JsonProcessingException e) {
-            log.error("Error converting payload to JSON", e);
-            // 예외 처리 전략 필요
-        }
+    // 이미 인코딩된 메시지를 key, 헤더(추적 정보 등)와 함께 비동기로 보냅니다. 결과(ack)는 호출한 쪽에서 확인합니다.
+    public CompletableFuture<SendResult<String, byte[]>> send(String topic, String key, byte[] payload, Iterable<Header> headers) {
+        log.debug("Sending {} bytes with key={} to topic={}", payload.length, key, topic);
+        return kafkaTemplate.send(new ProducerRecord<>(topic, null, key, payload, headers));
     }
 }
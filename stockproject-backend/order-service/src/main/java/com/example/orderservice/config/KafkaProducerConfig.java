@@ -0,0 +1,38 @@
+package com.example.orderservice.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    // outbox 발행용 템플릿. 기본 프로듀서 설정에 배치/압축/ack 설정만 덮어씁니다.
+    // 같은 파티션으로 가는 메시지를 linger-ms 동안 모아 압축해서 보내므로 건별 전송보다 처리량이 높습니다.
+    @Bean
+    public KafkaTemplate<String, byte[]> kafkaTemplate(
+            ProducerFactory<Object, Object> producerFactory,
+            @Value("${order.kafka.producer.compression-type:lz4}") String compressionType,
+            @Value("${order.kafka.producer.linger-ms:20}") int lingerMs,
+            @Value("${order.kafka.producer.batch-size:131072}") int batchSize) {
+        Map<String, Object> props = new HashMap<>(producerFactory.getConfigurationProperties());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        // payload 는 outbox 에 EventCodec 으로 인코딩된 상태로 저장되어 있습니다.
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.orderservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    // JPA 처럼 블로킹되는 DB 작업만 실행하는 스케줄러.
+    // 커넥션 풀 크기만큼만 스레드를 두어, 커넥션을 기다리며 노는 스레드가 생기지 않게 합니다.
+    // spring.threads.virtual.enabled=true 이면 같은 개수 제한으로 가상 스레드에서 실행합니다.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${order.jdbc-scheduler.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Schedulers.newBoundedElastic(poolSize, queueCapacity,
+                    Thread.ofVirtual().name("order-jdbc-", 0).factory(), 60);
+        }
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "order-jdbc");
+    }
+}
@@ -1,17 +1,68 @@
 package com.example.orderservice.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced; // ⭐️ import 추가
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    // ⭐️ 서비스 간 호출(product-service, stock-service 등)이 함께 쓰는 커넥션 풀.
+    // 로드밸런서가 서비스 이름을 인스턴스 주소로 바꾼 뒤 연결하므로, 풀은 Eureka 인스턴스(host:port)마다 따로 잡힙니다.
+    // - max-connections         : 인스턴스 하나에 열어 둘 최대 커넥션 수
+    // - pending-acquire-max-count : 커넥션을 기다릴 수 있는 최대 요청 수. 넘치면 바로 실패합니다.
+    // - pending-acquire-timeout : 커넥션을 기다리는 최대 시간
+    // - max-idle-time / max-life-time : 놀고 있거나 오래된 커넥션을 닫아, 내려간 인스턴스의 커넥션이 남지 않게 합니다.
+    // - evict-interval          : 위 조건에 걸린 커넥션을 백그라운드에서 정리하는 주기
+    // 풀 지표(reactor.netty.connection.provider.active.connections, pending.connections 등)는 /actuator/metrics 로 봅니다.
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider interServiceConnectionProvider(
+            @Value("${order.web-client.pool.max-connections:100}") int maxConnections,
+            @Value("${order.web-client.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${order.web-client.pool.pending-acquire-timeout:1s}") Duration pendingAcquireTimeout,
+            @Value("${order.web-client.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${order.web-client.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${order.web-client.pool.evict-interval:30s}") Duration evictInterval) {
+        return ConnectionProvider.builder("inter-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true)
+                .build();
+    }
+
+    // http2 가 켜져 있으면 TLS 없는 HTTP/2(h2c)로 업그레이드를 시도하고, 상대가 지원하지 않으면 HTTP/1.1 로 통신합니다.
+    // h2c 는 커넥션 하나에 여러 요청을 동시에 보내므로 같은 부하에 필요한 커넥션 수가 줄어듭니다.
+    @Bean
+    public HttpClient interServiceHttpClient(
+            ConnectionProvider interServiceConnectionProvider,
+            @Value("${order.web-client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${order.web-client.http2.enabled:false}") boolean http2Enabled) {
+        HttpClient httpClient = HttpClient.create(interServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+        return http2Enabled
+                ? httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                : httpClient;
+    }
+
+    // 서비스 간 호출용 WebClient 는 모두 이 Builder 로 만듭니다. (같은 커넥션 풀과 설정을 공유)
     @Bean
     @LoadBalanced // ⭐️ 1. 이 어노테이션을 추가합니다.
-    public WebClient.Builder webClientBuilder(){
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(HttpClient interServiceHttpClient){
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(interServiceHttpClient));
     }
 
     @Bean
@@ -19,4 +70,4 @@ public class WebClientConfig {
         // ⭐️ 2. Builder를 주입받아 사용하고, baseUrl을 삭제합니다.
         return builder.build();
     }
-}
\ No newline at end of file
+}
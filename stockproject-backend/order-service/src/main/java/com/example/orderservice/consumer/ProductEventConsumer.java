@@ -0,0 +1,35 @@
+package com.example.orderservice.consumer;
+
+import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import com.example.orderservice.cache.ProductCatalogCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+// ProductServiceImpl 이 발행하는 상품 이벤트로 로컬 상품 캐시를 무효화합니다.
+// 캐시는 인스턴스마다 따로 있으므로, 모든 인스턴스가 이벤트를 받도록 인스턴스별 groupId 를 사용합니다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventConsumer {
+
+    private final ProductCatalogCache productCatalogCache;
+
+    @KafkaListener(
+            topics = "product-created",
+            groupId = "order-service-product-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void listenProductCreation(ProductCreatedEvent event) {
+        productCatalogCache.evict(event.productId());
+    }
+
+    @KafkaListener(
+            topics = "product-deleted",
+            groupId = "order-service-product-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void listenProductDeletion(ProductDeletedEvent event) {
+        productCatalogCache.evict(event.productId());
+    }
+}
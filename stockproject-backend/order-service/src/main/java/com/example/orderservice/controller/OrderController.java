@@ -2,13 +2,24 @@ package com.example.orderservice.controller;
 
 import com.example.orderservice.dto.response.OrderDetailResponseDto;
 import com.example.orderservice.dto.request.OrderRequestDto;
+import com.example.orderservice.dto.response.BulkOrderResultDto;
+import com.example.orderservice.dto.response.OrderHistoryResponseDto;
 import com.example.orderservice.dto.response.OrderResponseDto;
 import com.example.orderservice.service.OrderService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
 import java.net.URI;
 
 @RestController
@@ -17,18 +28,38 @@ import java.net.URI;
 public class OrderController {
 
     private final OrderService orderService; // final 키워드 추가
+    private final ObjectMapper objectMapper;
 
+    // Mono 를 반환하면 상품 조회/저장이 끝날 때까지 서블릿 스레드를 반납합니다. (비동기 요청 처리)
     @PostMapping
-    public ResponseEntity<OrderResponseDto> createOrder(@RequestBody OrderRequestDto requestDto) {
-        OrderResponseDto responseDto = orderService.createOrder(requestDto);
+    public Mono<ResponseEntity<OrderResponseDto>> createOrder(@RequestBody OrderRequestDto requestDto) {
+        // 표준적인 Location URI 생성 방식. 현재 요청 정보는 요청 스레드에서만 읽을 수 있으므로 미리 만들어 둡니다.
+        UriComponentsBuilder locationBuilder = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{orderId}");
 
-        // 표준적인 Location URI 생성 방식으로 변경
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{orderId}")
-                .buildAndExpand(responseDto.orderId())
-                .toUri();
+        return orderService.createOrder(requestDto)
+                .map(responseDto -> {
+                    URI location = locationBuilder.buildAndExpand(responseDto.orderId()).toUri();
+                    return ResponseEntity.created(location).body(responseDto);
+                });
+    }
 
-        return ResponseEntity.created(location).body(responseDto);
+    // 대량 주문 (B2B). 주문 요청을 한 줄에 하나씩(NDJSON) 받아 묶음 단위로 저장하고, 주문별 결과를 한 줄씩 내려보냅니다.
+    // 요청 본문을 읽는 대로 처리하므로 주문 수와 관계없이 메모리 사용량이 일정합니다.
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkOrderResultDto> createOrders(HttpServletRequest request) {
+        Flux<OrderRequestDto> requests = Flux.defer(() -> {
+                    try {
+                        MappingIterator<OrderRequestDto> lines = objectMapper.readerFor(OrderRequestDto.class)
+                                .readValues(request.getInputStream());
+                        return Flux.fromIterable(() -> lines);
+                    } catch (IOException e) {
+                        return Flux.error(e);
+                    }
+                })
+                // 요청 본문 읽기는 블로킹이므로 서블릿 스레드가 아닌 곳에서 읽습니다.
+                .subscribeOn(Schedulers.boundedElastic());
+        return orderService.createOrders(requests);
     }
 
     // 주문 검색
@@ -38,10 +69,27 @@ public class OrderController {
         return ResponseEntity.ok(orderDetails);
     }
 
+    // 사용자 주문 내역 (최신순). 주문 하나를 한 줄(NDJSON)로, 만들어지는 대로 내려보냅니다.
+    // 다음 페이지는 마지막 줄의 cursor 를 넘겨 조회하고, size 보다 적게 오면 마지막 페이지입니다.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderHistoryResponseDto> getOrderHistory(
+            @RequestParam("userId") Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return orderService.getOrderHistory(userId, cursor, size);
+    }
+
     // 주문 취소
     @DeleteMapping("/{orderId}")
     public ResponseEntity<Void> cancelOrder(@PathVariable("orderId") String orderId){
         orderService.cancelOrder(orderId);
         return ResponseEntity.noContent().build(); // 204 No Content Error
     }
-}
\ No newline at end of file
+
+    // 주문 결제 완료
+    @PostMapping("/{orderId}/payment")
+    public ResponseEntity<Void> payOrder(@PathVariable("orderId") String orderId) {
+        orderService.payOrder(orderId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,18 +4,33 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 @Entity
-@Table(name = "orders") // 'order'는 SQL 예약어인 경우가 많아 'orders' 사용
+// 'order'는 SQL 예약어인 경우가 많아 'orders' 사용
+// 주문 내역은 (userId, orderedAt, id) 순서로 keyset 페이지네이션하므로 같은 순서의 복합 인덱스를 둡니다.
+@Table(name = "orders", indexes = @Index(name = "idx_orders_user_id_ordered_at_id", columnList = "userId, orderedAt, id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
+    // 결제 가능 시간. stock-service 의 재고 예약 TTL(stock.reservation.ttl)은 이보다 길어야 합니다.
+    public static final Duration PAYMENT_TIMEOUT = Duration.ofMinutes(15);
+
+    // 재고를 바꾸는 주문 이벤트(생성/취소/결제)를 모두 보내는 토픽.
+    // Kafka 는 한 파티션 안에서만 순서를 지키므로, 이벤트마다 토픽을 나누면 같은 주문의 취소가 생성보다 먼저 처리될 수 있습니다.
+    public static final String STOCK_EVENT_TOPIC = "order-stock-events";
+
+    // IDENTITY 는 INSERT 를 해야 id 를 알 수 있어 JDBC 배치가 꺼집니다.
+    // 시퀀스(MySQL 에서는 orders_seq 테이블)에서 allocationSize 만큼 미리 받아 두고, INSERT 는 배치로 보냅니다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     // 외부에 노출할 비즈니스 ID (UUID 등)
@@ -67,4 +82,36 @@ public class Order {
     public void cancel(){
         this.status = OrderStatus.CANCELED;
     }
+
+    // STOCK_EVENT_TOPIC 의 메시지 키. 주문 상품 중 가장 작은 productId 를 사용합니다. (상품 순서와 무관하게 항상 같은 키)
+    // 한 주문의 생성/취소/결제 이벤트는 같은 키로 한 파티션에 들어가므로 발행한 순서대로 처리됩니다.
+    // 다른 주문 사이의 순서는 키 상품이 같을 때만 유지됩니다. 여러 상품이 담긴 주문의 나머지 상품은
+    // 다른 파티션의 주문과 순서 없이 섞일 수 있습니다. 주문 단위 변경은 스크립트 하나로 원자적으로 적용되므로 재고 합계는 맞고,
+    // 남은 재고가 적을 때 어느 주문이 먼저 차감되는지만 달라집니다.
+    public String stockRoutingKey() {
+        return stockRoutingKey(orderId, orderItems.stream().map(OrderItem::getProductId).toList());
+    }
+
+    // 엔티티 없이 프로젝션으로 읽은 주문에도 같은 키를 쓰기 위한 메소드
+    public static String stockRoutingKey(String orderId, Collection<String> productIds) {
+        return productIds.stream()
+                .min(Comparator.naturalOrder())
+                .orElse(orderId);
+    }
+
+    public void pay(LocalDateTime now) {
+        checkPayable(now);
+        this.status = OrderStatus.PAID;
+    }
+
+    // 지금 결제할 수 있는 주문인지 확인합니다. 결제할 수 없으면 이유에 맞는 예외를 던집니다.
+    public void checkPayable(LocalDateTime now) {
+        if (this.status != OrderStatus.PENDING) {
+            throw new IllegalStateException("결제 대기 중인 주문만 결제할 수 있습니다.");
+        }
+        // 재고 예약이 만료된 뒤에는 결제를 받지 않습니다.
+        if (now.isAfter(this.orderedAt.plus(PAYMENT_TIMEOUT))) {
+            throw new IllegalStateException("결제 가능 시간이 지난 주문입니다.");
+        }
+    }
 }
\ No newline at end of file
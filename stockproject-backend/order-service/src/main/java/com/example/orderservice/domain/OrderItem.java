@@ -12,8 +12,10 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OrderItem {
+    // 주문 상품 INSERT 를 한 번의 배치로 보내기 위해 시퀀스로 id 를 미리 받습니다. (Order 참고)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
@@ -0,0 +1,62 @@
+package com.example.orderservice.domain;
+
+import com.example.dto.trace.TraceContext;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 주문과 같은 트랜잭션에 저장되는 발행 대기 이벤트 (Transactional Outbox)
+// OutboxRelay 가 발행 중으로 점유(claimedBy, claimedUntil)한 뒤 Kafka 전송에 성공하면 삭제합니다.
+@Entity
+// 릴레이가 같은 키의 더 오래된 이벤트를 찾을 수 있도록 메시지 키에 인덱스를 둡니다.
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_message_key", columnList = "messageKey"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    // OutboxRelay 가 id 순서로 발행하므로, 인스턴스마다 미리 받아 두는 시퀀스 대신 커밋 순서에 가까운 IDENTITY 를 유지합니다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    // Kafka 메시지 키 (Order.stockRoutingKey). 같은 키의 이벤트는 id 순서대로 발행됩니다.
+    @Column(nullable = false)
+    private String messageKey;
+
+    // EventCodec 으로 인코딩된 메시지. 릴레이는 다시 직렬화하지 않고 그대로 보냅니다.
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // 이 이벤트로 시작되는 추적 정보. 릴레이가 Kafka 헤더로 함께 보냅니다. (TraceContext)
+    @Column(length = 55)
+    private String traceparent;
+
+    // 이 이벤트를 발행 중인 릴레이 인스턴스와 점유 기한. 기한이 지나면 다른 인스턴스가 다시 가져갈 수 있습니다.
+    @Column(length = 36)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+
+    public OutboxEvent(String topic, String messageKey, byte[] payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+        this.traceparent = TraceContext.newTraceparent();
+    }
+
+    public long createdAtEpochMilli() {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
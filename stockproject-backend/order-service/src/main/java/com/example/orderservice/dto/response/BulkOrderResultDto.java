@@ -0,0 +1,23 @@
+package com.example.orderservice.dto.response;
+
+import com.example.orderservice.domain.Order;
+
+// 대량 주문의 주문별 결과. index 는 요청 스트림에서의 순번(0부터)입니다.
+// 생성에 실패한 주문은 status 가 REJECTED 이고 error 에 사유가 담깁니다.
+public record BulkOrderResultDto(
+        long index,
+        String orderId,
+        String status,
+        Long totalPrice,
+        String error
+) {
+    public static final String REJECTED = "REJECTED";
+
+    public static BulkOrderResultDto created(long index, Order order) {
+        return new BulkOrderResultDto(index, order.getOrderId(), order.getStatus().name(), order.getTotalPrice(), null);
+    }
+
+    public static BulkOrderResultDto rejected(long index, String error) {
+        return new BulkOrderResultDto(index, null, REJECTED, null, error);
+    }
+}
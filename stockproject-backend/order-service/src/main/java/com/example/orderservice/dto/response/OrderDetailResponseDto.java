@@ -3,6 +3,7 @@ package com.example.orderservice.dto.response;
 
 import com.example.orderservice.domain.Order;
 import com.example.orderservice.domain.OrderItem;
+import com.example.orderservice.repository.OrderDetailRow;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,6 +30,24 @@ public record OrderDetailResponseDto(
         );
     }
 
+    // 주문 + 상품 프로젝션 행들(같은 주문)로 만듭니다.
+    public static OrderDetailResponseDto fromRows(List<OrderDetailRow> rows) {
+        OrderDetailRow first = rows.get(0);
+        List<OrderItemInfo> itemInfos = rows.stream()
+                .filter(row -> row.productId() != null)
+                .map(row -> new OrderItemInfo(row.productId(), row.quantity(), row.price()))
+                .toList();
+
+        return new OrderDetailResponseDto(
+                first.orderId(),
+                first.userId(),
+                first.status().name(),
+                first.totalPrice(),
+                first.orderedAt(),
+                itemInfos
+        );
+    }
+
     // 내부 DTO
     public record OrderItemInfo(String productId, Integer quantity, Long price) {
         public static OrderItemInfo fromEntity(OrderItem item) {
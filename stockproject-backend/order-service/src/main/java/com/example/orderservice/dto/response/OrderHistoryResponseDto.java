@@ -0,0 +1,32 @@
+package com.example.orderservice.dto.response;
+
+import com.example.orderservice.domain.Order;
+import com.example.orderservice.dto.response.OrderDetailResponseDto.OrderItemInfo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 주문 내역의 한 줄. 다음 페이지는 마지막 줄의 cursor 로 조회합니다.
+public record OrderHistoryResponseDto(
+        String orderId,
+        String status,
+        Long totalPrice,
+        LocalDateTime orderedAt,
+        List<OrderItemInfo> items,
+        String cursor
+) {
+    public static OrderHistoryResponseDto fromEntity(Order order, String cursor) {
+        List<OrderItemInfo> itemInfos = order.getOrderItems().stream()
+                .map(OrderItemInfo::fromEntity)
+                .toList();
+
+        return new OrderHistoryResponseDto(
+                order.getOrderId(),
+                order.getStatus().name(),
+                order.getTotalPrice(),
+                order.getOrderedAt(),
+                itemInfos,
+                cursor
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.orderservice.dto.response;
+
+public record StockResponseDto(
+        String productId,
+        Long quantity
+) {}
@@ -0,0 +1,18 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+
+// 주문 상세 조회용 프로젝션. 주문 상품 한 줄마다 주문 정보가 함께 담깁니다. (주문 + 상품 left join 한 행)
+// 엔티티를 만들지 않으므로 영속성 컨텍스트에 올라가거나 dirty checking 되지 않습니다.
+public record OrderDetailRow(
+        String orderId,
+        Long userId,
+        OrderStatus status,
+        Long totalPrice,
+        LocalDateTime orderedAt,
+        String productId,
+        Integer quantity,
+        Long price
+) {}
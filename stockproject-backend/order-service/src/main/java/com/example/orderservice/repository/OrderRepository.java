@@ -1,11 +1,63 @@
 package com.example.orderservice.repository;
 
 import com.example.orderservice.domain.Order;
+import com.example.orderservice.domain.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order,Long> {
-    // orderId로 주문 조회
+    // orderId로 주문 조회. 상태 변경 후 이벤트에 주문 상품이 필요하므로 상품까지 한 번에 가져옵니다. (entity graph)
+    @EntityGraph(attributePaths = "orderItems")
     Optional<Order> findByOrderId(String orderId);
+
+    // 주문 상세를 엔티티 없이 한 번의 쿼리로 조회합니다. 주문이 없으면 빈 목록
+    @Query("select new com.example.orderservice.repository.OrderDetailRow("
+            + "o.orderId, o.userId, o.status, o.totalPrice, o.orderedAt, i.productId, i.quantity, i.price)"
+            + " from Order o left join o.orderItems i where o.orderId = :orderId order by i.id")
+    List<OrderDetailRow> findDetailRowsByOrderId(@Param("orderId") String orderId);
+
+    // 주문 상태가 expected 일 때만 next 로 바꿉니다. 바뀐 행 수(0 또는 1)를 반환합니다.
+    // 조건 확인과 변경이 한 문장이므로 동시에 들어온 요청 중 하나만 성공합니다.
+    @Modifying
+    @Query("update Order o set o.status = :next where o.orderId = :orderId and o.status = :expected")
+    int updateStatus(@Param("orderId") String orderId,
+                     @Param("expected") OrderStatus expected,
+                     @Param("next") OrderStatus next);
+
+    // updateStatus 와 같지만 orderedAfter 이후에 들어온 주문만 바꿉니다. (결제 가능 시간 확인까지 한 문장으로)
+    @Modifying
+    @Query("update Order o set o.status = :next"
+            + " where o.orderId = :orderId and o.status = :expected and o.orderedAt >= :orderedAfter")
+    int updateStatusOrderedAfter(@Param("orderId") String orderId,
+                                 @Param("expected") OrderStatus expected,
+                                 @Param("next") OrderStatus next,
+                                 @Param("orderedAfter") LocalDateTime orderedAfter);
+
+    boolean existsByOrderId(String orderId);
+
+    // 사용자 주문 내역의 첫 페이지 ID (최신순). (userId, orderedAt, id) 인덱스만 읽습니다. (covering index)
+    @Query("select o.id from Order o where o.userId = :userId order by o.orderedAt desc, o.id desc")
+    List<Long> findHistoryIds(@Param("userId") Long userId, Pageable pageable);
+
+    // 커서(직전 페이지의 마지막 주문) 다음부터의 ID. OFFSET 없이 인덱스에서 바로 이어 읽으므로 페이지가 뒤로 가도 느려지지 않습니다.
+    @Query("select o.id from Order o where o.userId = :userId"
+            + " and (o.orderedAt < :orderedAt or (o.orderedAt = :orderedAt and o.id < :id))"
+            + " order by o.orderedAt desc, o.id desc")
+    List<Long> findHistoryIdsBefore(@Param("userId") Long userId,
+                                    @Param("orderedAt") LocalDateTime orderedAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    // 주문과 주문 상품을 한 번의 쿼리로 가져옵니다. (주문마다 상품을 따로 조회하지 않음, 반환 순서는 보장하지 않음)
+    @Query("select distinct o from Order o left join fetch o.orderItems where o.id in :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,44 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // 아무도 점유하지 않았거나 점유 기한이 지난 이벤트를 오래된 순으로 한 묶음 잠가서 가져옵니다.
+    // 다른 인스턴스가 잠근 행은 건너뜁니다. (FOR UPDATE SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.claimedUntil is null or e.claimedUntil < :now order by e.id")
+    List<OutboxEvent> findBatchForRelay(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 주어진 키들의 maxId 이하 이벤트 전체 (점유/잠금 여부와 관계없이). 잠그지 않고 읽습니다.
+    @Query("select new com.example.orderservice.repository.OutboxKeyRow(e.id, e.messageKey)"
+            + " from OutboxEvent e where e.messageKey in :keys and e.id <= :maxId")
+    List<OutboxKeyRow> findKeyRows(@Param("keys") Collection<String> keys, @Param("maxId") Long maxId);
+
+    // 이벤트를 claimedUntil 까지 owner 가 발행 중인 것으로 표시합니다.
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedBy = :owner, e.claimedUntil = :claimedUntil where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    // 발행하지 못한 이벤트의 점유를 풉니다. 점유 기한이 지나 다른 인스턴스가 가져간 이벤트는 건드리지 않습니다.
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedBy = null, e.claimedUntil = null where e.id in :ids and e.claimedBy = :owner")
+    int releaseClaims(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+}
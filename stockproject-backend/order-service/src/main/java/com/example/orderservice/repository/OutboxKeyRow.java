@@ -0,0 +1,7 @@
+package com.example.orderservice.repository;
+
+// outbox 이벤트의 ID 와 메시지 키만 읽는 프로젝션. 릴레이가 같은 키의 더 오래된 이벤트를 확인할 때 씁니다.
+public record OutboxKeyRow(
+        Long id,
+        String messageKey
+) {}
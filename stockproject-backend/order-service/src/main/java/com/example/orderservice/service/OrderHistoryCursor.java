@@ -0,0 +1,30 @@
+package com.example.orderservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 주문 내역 keyset 페이지네이션 커서. 한 페이지의 마지막 주문 (orderedAt, id) 를 URL 에 쓸 수 있는 문자열로 바꿉니다.
+// 클라이언트는 내용을 해석하지 않고 그대로 돌려보내기만 합니다.
+record OrderHistoryCursor(LocalDateTime orderedAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = orderedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new OrderHistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
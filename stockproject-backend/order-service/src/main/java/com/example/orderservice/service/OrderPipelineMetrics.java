@@ -0,0 +1,68 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// 주문 생성부터 Kafka 발행까지 단계별 소요 시간. stock-service 의 StockPipelineMetrics 로 이어집니다.
+// /actuator/metrics/order.pipeline?tag=stage:db-save 처럼 단계별로 조회하고,
+// 퍼센타일은 /actuator/metrics/order.pipeline.percentile?tag=stage:publish&tag=phi:0.99 로 봅니다.
+// - product-lookup : 상품 정보 조회 (로컬 캐시 또는 product-service 호출)
+// - db-save        : 주문과 outbox 이벤트를 저장하는 트랜잭션 (커밋 포함)
+// - outbox-wait    : outbox 에 기록된 뒤 릴레이가 집어 갈 때까지 기다린 시간
+// - publish        : Kafka 전송부터 브로커 ack 까지
+@Component
+class OrderPipelineMetrics {
+
+    static final String TIMER_NAME = "order.pipeline";
+
+    private final Timer productLookup;
+    private final Timer dbSave;
+    private final Timer outboxWait;
+    private final Timer publish;
+
+    OrderPipelineMetrics(MeterRegistry meterRegistry) {
+        this.productLookup = timer(meterRegistry, "product-lookup");
+        this.dbSave = timer(meterRegistry, "db-save");
+        this.outboxWait = timer(meterRegistry, "outbox-wait");
+        this.publish = timer(meterRegistry, "publish");
+    }
+
+    // 구독될 때부터 완료(또는 실패)될 때까지를 잽니다.
+    <T> Mono<T> timeProductLookup(Mono<T> lookup) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return lookup.doFinally(signal -> sample.stop(productLookup));
+        });
+    }
+
+    <T> T timeDbSave(Supplier<T> save) {
+        return dbSave.record(save);
+    }
+
+    void recordOutboxWait(Duration wait) {
+        outboxWait.record(wait.isNegative() ? Duration.ZERO : wait);
+    }
+
+    // 전송 결과가 나올 때까지를 잽니다. 실패한 전송도 기록됩니다.
+    <T> CompletableFuture<T> timePublish(Supplier<CompletableFuture<T>> send) {
+        Timer.Sample sample = Timer.start();
+        return send.get().whenComplete((result, error) -> sample.stop(publish));
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(TIMER_NAME)
+                .description("주문 파이프라인 단계별 소요 시간")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+}
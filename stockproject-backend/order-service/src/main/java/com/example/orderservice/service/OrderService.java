@@ -2,15 +2,28 @@ package com.example.orderservice.service;
 
 import com.example.orderservice.dto.response.OrderDetailResponseDto;
 import com.example.orderservice.dto.request.OrderRequestDto;
+import com.example.orderservice.dto.response.BulkOrderResultDto;
+import com.example.orderservice.dto.response.OrderHistoryResponseDto;
 import com.example.orderservice.dto.response.OrderResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface OrderService {
-    //주문 생성
-    OrderResponseDto createOrder(OrderRequestDto requestDto);
+    //주문 생성 (상품 조회를 기다리는 동안 스레드를 점유하지 않도록 Mono 로 반환)
+    Mono<OrderResponseDto> createOrder(OrderRequestDto requestDto);
+
+    // 대량 주문. 요청을 묶음(chunk) 단위로 처리하고 주문별 결과를 요청 순서대로 내보냅니다.
+    Flux<BulkOrderResultDto> createOrders(Flux<OrderRequestDto> requests);
 
     // 주문 단건 조회
     OrderDetailResponseDto getOrderByOrderId(String orderId);
 
+    // 사용자 주문 내역 (최신순, keyset 페이지네이션). cursor 가 없으면 첫 페이지
+    Flux<OrderHistoryResponseDto> getOrderHistory(Long userId, String cursor, int size);
+
     // 주문 취소 변경
     void cancelOrder(String orderId);
+
+    // 주문 결제 완료 (재고 예약 확정)
+    void payOrder(String orderId);
 }
\ No newline at end of file
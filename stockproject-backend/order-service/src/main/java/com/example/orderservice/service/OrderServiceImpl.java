@@ -3,50 +3,182 @@ package com.example.orderservice.service;
 import com.example.dto.OrderCancelledEvent;
 import com.example.dto.OrderCreatedEvent;
 import com.example.dto.OrderItemPayload;
-import com.example.orderservice.config.KafkaProducer;
+import com.example.dto.OrderPaidEvent;
+import com.example.orderservice.cache.ProductCatalogCache;
+import com.example.orderservice.client.StockClient;
 import com.example.orderservice.domain.Order;
 import com.example.orderservice.domain.OrderItem;
 import com.example.orderservice.domain.OrderStatus;
 import com.example.orderservice.dto.response.*;
 import com.example.orderservice.dto.request.OrderItemDto;
 import com.example.orderservice.dto.request.OrderRequestDto;
+import com.example.orderservice.repository.OrderDetailRow;
 import com.example.orderservice.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    // 주문 내역 한 페이지의 최대 주문 수
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
-    private final WebClient webClient;
-    private final KafkaProducer kafkaProducer;
+    private final ProductCatalogCache productCatalogCache;
+    private final StockClient stockClient;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler jdbcScheduler;
+    private final OrderPipelineMetrics pipelineMetrics;
+
+    // 대량 주문에서 상품/재고 조회 한 번, 트랜잭션 한 번으로 처리하는 주문 수
+    @Value("${order.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
 
+    // ⭐️ Java 21 에서도 Mono 로 둡니다. 가상 스레드는 선택(spring.threads.virtual.enabled, 기본 꺼짐)이라
+    //    꺼진 상태에서도 product-service 응답을 기다리며 Tomcat 스레드를 붙잡지 않아야 하기 때문입니다.
+    //    켜면 요청 스레드와 jdbcScheduler 가 가상 스레드가 되고, DB 동시성은 어느 쪽이든 커넥션 풀 크기로 제한됩니다.
+    //    두 모드 비교: loadtest 를 --virtual-threads=false / true 로 같은 rate 에서 돌려 주문 응답 지연 분포(.hgrm)를 봅니다.
     @Override
-    @Transactional
-    public OrderResponseDto createOrder(OrderRequestDto requestDto) { //userId, Items
+    public Mono<OrderResponseDto> createOrder(OrderRequestDto requestDto) { //userId, Items
         // 1. 요청된 상품 ID 목록 추출
         List<String> productIds = requestDto.items().stream() // List<Long> -> List<String>
         .map(OrderItemDto::productId)
         .toList();
 
-        // 2. Product-Service API를 호출하여 상품 정보 목록 조회
-        List<ProductResponseDto> productInfos = getProductInfos(productIds);
+        // 2. 상품 정보 목록 조회. 로컬 캐시에 없는 상품만 Product-Service API로 조회 (논블로킹, 트랜잭션 밖)
+        //    재고 조회도 동시에 보내, 재고가 부족한 주문은 DB 저장과 이벤트 발행 전에 거절합니다.
+        return Mono.zip(pipelineMetrics.timeProductLookup(productCatalogCache.findProducts(productIds)), findAvailableStocks(productIds))
+                .map(tuple -> buildOrder(requestDto, tuple.getT1(), tuple.getT2()))
+                // ⭐️ 블로킹되는 DB 저장만 jdbcScheduler 에서 실행하고, 트랜잭션은 save 에만 겁니다.
+                .publishOn(jdbcScheduler)
+                .map(order -> {
+                    // 7~8. 주문과 발행할 이벤트를 같은 트랜잭션에 저장 (Kafka 발행은 OutboxRelay 가 담당)
+                    return pipelineMetrics.timeDbSave(() -> transactionTemplate.execute(status -> {
+                        Order savedOrder = orderRepository.save(order);
+                        outboxService.append(Order.STOCK_EVENT_TOPIC, savedOrder.stockRoutingKey(), toCreatedEvent(savedOrder));
+                        return savedOrder;
+                    }));
+                })
+                // 9. 최종 응답 DTO 생성 및 반환
+                .map(savedOrder -> new OrderResponseDto(
+                        savedOrder.getOrderId(),
+                        savedOrder.getStatus().name(),
+                        savedOrder.getTotalPrice(),
+                        savedOrder.getOrderedAt()
+                ));
+    }
+
+    @Override
+    public Flux<BulkOrderResultDto> createOrders(Flux<OrderRequestDto> requests) {
+        // 한 묶음씩 차례로 처리하고 다음 묶음은 미리 당겨 오지 않으므로, 전체 주문 수와 관계없이 묶음 하나만큼만 메모리에 둡니다.
+        return requests.index()
+                .buffer(bulkChunkSize)
+                .concatMap(this::createChunk, 1);
+    }
+
+    private Flux<BulkOrderResultDto> createChunk(List<Tuple2<Long, OrderRequestDto>> chunk) {
+        // 묶음 안의 모든 주문에 등장하는 상품을 중복 없이 한 번에 조회합니다. (ID 가 많으면 각 클라이언트가 나눠서 요청합니다)
+        List<String> productIds = chunk.stream()
+                .map(Tuple2::getT2)
+                .filter(request -> request.items() != null)
+                .flatMap(request -> request.items().stream())
+                .map(OrderItemDto::productId)
+                .distinct()
+                .toList();
 
+        return Mono.zip(productCatalogCache.findProducts(productIds), findAvailableStocks(productIds))
+                .map(tuple -> chunk.stream()
+                        .map(entry -> buildBulkEntry(entry.getT1(), entry.getT2(), tuple.getT1(), tuple.getT2()))
+                        .toList())
+                .publishOn(jdbcScheduler)
+                .map(entries -> {
+                    // 묶음의 주문과 이벤트를 한 트랜잭션에 저장합니다. INSERT 는 JDBC 배치로 나가고,
+                    // 이벤트는 OutboxRelay 가 다음 주기에 한 묶음으로 발행합니다.
+                    List<Order> orders = entries.stream().map(BulkEntry::order).filter(Objects::nonNull).toList();
+                    if (!orders.isEmpty()) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            orderRepository.saveAll(orders);
+                            orders.forEach(order -> outboxService.append(Order.STOCK_EVENT_TOPIC, order.stockRoutingKey(), toCreatedEvent(order)));
+                        });
+                    }
+                    return entries.stream()
+                            .map(entry -> entry.order() != null
+                                    ? BulkOrderResultDto.created(entry.index(), entry.order())
+                                    : BulkOrderResultDto.rejected(entry.index(), entry.error()))
+                            .toList();
+                })
+                .onErrorResume(e -> {
+                    log.error("대량 주문 묶음 처리에 실패했습니다. 주문 {}건 ({}번부터)", chunk.size(), chunk.get(0).getT1(), e);
+                    return Mono.just(chunk.stream()
+                            .map(entry -> BulkOrderResultDto.rejected(entry.getT1(), "주문 처리에 실패했습니다."))
+                            .toList());
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    private BulkEntry buildBulkEntry(long index, OrderRequestDto request, List<ProductResponseDto> products, Map<String, Long> availableStocks) {
+        if (request.items() == null || request.items().isEmpty()) {
+            return new BulkEntry(index, null, "주문 상품이 없습니다.");
+        }
+        try {
+            return new BulkEntry(index, buildOrder(request, products, availableStocks), null);
+        } catch (IllegalArgumentException e) {
+            return new BulkEntry(index, null, e.getMessage());
+        }
+    }
+
+    // 대량 주문의 한 건. 생성에 실패하면 order 가 null 이고 error 에 사유가 담깁니다.
+    private record BulkEntry(long index, Order order, String error) {
+    }
+
+    // 재고 사전 확인용 조회. 실제 차감 가능 여부는 stock-service 의 재고 예약이 판단하므로,
+    // stock-service 를 호출할 수 없으면 확인을 건너뛰고 주문을 계속 진행합니다.
+    private Mono<Map<String, Long>> findAvailableStocks(List<String> productIds) {
+        return stockClient.findStocksByIds(productIds.stream().distinct().toList())
+                .map(stocks -> stocks.stream()
+                        .collect(Collectors.toMap(StockResponseDto::productId, StockResponseDto::quantity)))
+                .onErrorResume(e -> {
+                    log.warn("재고 사전 확인에 실패하여 건너뜁니다.", e);
+                    return Mono.just(Map.of());
+                });
+    }
+
+    private Order buildOrder(OrderRequestDto requestDto, List<ProductResponseDto> productInfos, Map<String, Long> availableStocks) {
         // 3. 상품 정보를 빠르게 조회할 수 있도록 Map으로 변환
         Map<String, ProductResponseDto> productMap = productInfos.stream()
                 .collect(Collectors.toMap(ProductResponseDto::productId, product -> product));
 
-        // 4. OrderItem Entity 목록 생성 및 재고 확인
+        // 4. 재고 확인. 같은 상품이 여러 줄이면 수량을 합산해서 비교합니다. (재고 정보가 없는 상품은 stock-service 가 판단)
+        Map<String, Long> requestedQuantities = requestDto.items().stream()
+                .collect(Collectors.groupingBy(OrderItemDto::productId, Collectors.summingLong(OrderItemDto::quantity)));
+        requestedQuantities.forEach((productId, quantity) -> {
+            Long available = availableStocks.get(productId);
+            if (available != null && available < quantity) {
+                throw new IllegalArgumentException("재고가 부족합니다: " + productId);
+            }
+        });
+
+        // 5. OrderItem Entity 목록 생성
         List<OrderItem> orderItems = requestDto.items().stream()
                 .map(itemDto -> {
                     ProductResponseDto product = productMap.get(itemDto.productId());
-                    // 조회된 상품이 없거나, 재고가 부족한 경우 예외 처리 (실제로는 재고 확인 로직도 필요)
+                    // 조회된 상품이 없는 경우 예외 처리
                     if (product == null) {
                         throw new IllegalArgumentException("상품 정보를 찾을 수 없습니다: " + itemDto.productId());
                     }
@@ -55,89 +187,120 @@ public class OrderServiceImpl implements OrderService {
                 })
                 .toList();
 
-        // 5. Order Entity 생성
+        // 6. Order Entity 생성
         String orderId = UUID.randomUUID().toString();
-        Order order = Order.createOrder(orderId, requestDto.userId(), orderItems);
-
-        // 6. DB에 주문 정보 저장
-        Order savedOrder = orderRepository.save(order);
+        return Order.createOrder(orderId, requestDto.userId(), orderItems);
+    }
 
-        // 7. Kafka에 발행할 OrderCreatedEvent 생성
+    // Kafka에 발행할 OrderCreatedEvent 생성
+    private OrderCreatedEvent toCreatedEvent(Order savedOrder) {
         List<OrderItemPayload> itemPayloads = savedOrder.getOrderItems().stream()
                 .map(item -> new OrderItemPayload(item.getProductId(), item.getQuantity(), item.getPrice()))
                 .toList();
 
-        OrderCreatedEvent event = new OrderCreatedEvent(
+        return new OrderCreatedEvent(
                 savedOrder.getOrderId(),
                 savedOrder.getUserId(),
                 savedOrder.getTotalPrice(),
                 savedOrder.getOrderedAt(),
                 itemPayloads
         );
-
-        // 8. Kafka로 이벤트 발행
-        kafkaProducer.send("order-created", event);
-
-        // 9. 최종 응답 DTO 생성 및 반환
-        return new OrderResponseDto(
-                savedOrder.getOrderId(),
-                savedOrder.getStatus().name(),
-                savedOrder.getTotalPrice(),
-                savedOrder.getOrderedAt()
-        );
     }
 
-    //productId 여러개를 받아 상품을 리스트로 반환. ("api/v1/product/list?ids=213,231,222")일 경우 한번에 조회
-    private List<ProductResponseDto> getProductInfos(List<String> productIds) {
-    String idsString = String.join(",", productIds);
-
-    ProductResponseDto[] response = webClient.get()
-            .uri(uriBuilder -> uriBuilder
-                    // ⭐️ 3. "http://localhost:8081" 대신 서비스 이름 "product-service"를 사용합니다.
-                    .scheme("http").host("product-service")
-                    .path("/api/v1/product/list")
-                    .queryParam("ids", idsString)
-                    .build())
-            .retrieve()
-            .bodyToMono(ProductResponseDto[].class)
-            .block();
-
-    return response == null ? List.of() : Arrays.asList(response);
-}
-
     @Override
     @Transactional(readOnly = true)
     public OrderDetailResponseDto getOrderByOrderId(String orderId) {
-        Order order = orderRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
+        // 주문과 상품을 한 번의 쿼리로 DTO 에 바로 담습니다. (엔티티/지연 로딩 없음)
+        List<OrderDetailRow> rows = orderRepository.findDetailRowsByOrderId(orderId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("주문을 찾을 수 없습니다.");
+        }
 
-        return OrderDetailResponseDto.fromEntity(order);
+        return OrderDetailResponseDto.fromRows(rows);
+    }
+
+    @Override
+    public Flux<OrderHistoryResponseDto> getOrderHistory(Long userId, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다.");
+        }
+        OrderHistoryCursor after = cursor == null ? null : OrderHistoryCursor.decode(cursor);
+        PageRequest page = PageRequest.ofSize(Math.min(size, MAX_HISTORY_PAGE_SIZE));
+
+        // 페이지당 쿼리 두 번: 인덱스만 읽는 ID 조회 + 주문/상품 fetch join. 사용자의 주문이 많아져도 페이지 비용은 같습니다.
+        return Mono.fromCallable(() -> {
+                    List<Long> ids = after == null
+                            ? orderRepository.findHistoryIds(userId, page)
+                            : orderRepository.findHistoryIdsBefore(userId, after.orderedAt(), after.id(), page);
+                    if (ids.isEmpty()) {
+                        return List.<Order>of();
+                    }
+                    Map<Long, Order> ordersById = orderRepository.findAllWithItemsByIdIn(ids).stream()
+                            .collect(Collectors.toMap(Order::getId, order -> order));
+                    return ids.stream().map(ordersById::get).filter(Objects::nonNull).toList();
+                })
+                .subscribeOn(jdbcScheduler)
+                .flatMapIterable(orders -> orders)
+                .map(order -> OrderHistoryResponseDto.fromEntity(order,
+                        new OrderHistoryCursor(order.getOrderedAt(), order.getId()).encode()));
     }
 
     @Override
     @Transactional
     public void cancelOrder(String orderId) {
-        Order order = orderRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
-
-        if (order.getStatus() != OrderStatus.PENDING) {
+        // 결제 대기 중인 주문만 UPDATE 한 번으로 취소합니다. 엔티티를 읽지 않으므로 dirty checking 도 없습니다.
+        if (orderRepository.updateStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELED) == 0) {
+            if (!orderRepository.existsByOrderId(orderId)) {
+                throw new IllegalArgumentException("주문을 찾을 수 없습니다.");
+            }
             throw new IllegalStateException("이미 처리된 주문은 취소할 수 없습니다.");
         }
 
-        order.cancel();
+        // MySQL 에는 UPDATE ... RETURNING 이 없으므로, 방금 갱신해서 잠긴 행을 프로젝션으로 다시 읽어 이벤트를 만듭니다.
+        OrderDetailResponseDto order = OrderDetailResponseDto.fromRows(orderRepository.findDetailRowsByOrderId(orderId));
 
-        List<OrderItemPayload> itemPayloads = order.getOrderItems().stream()
-                .map(item -> new OrderItemPayload(item.getProductId(), item.getQuantity(), item.getPrice()))
+        List<OrderItemPayload> itemPayloads = order.items().stream()
+                .map(item -> new OrderItemPayload(item.productId(), item.quantity(), item.price()))
                 .toList();
 
         OrderCancelledEvent event = new OrderCancelledEvent(
-                order.getOrderId(),
-                order.getUserId(),
-                order.getTotalPrice(),
-                order.getOrderedAt(), // 생성 시각 사용
+                order.orderId(),
+                order.userId(),
+                order.totalPrice(),
+                order.orderedAt(), // 생성 시각 사용
                 itemPayloads
         );
 
-        kafkaProducer.send("order-cancelled", event);
+        String messageKey = Order.stockRoutingKey(order.orderId(),
+                order.items().stream().map(OrderDetailResponseDto.OrderItemInfo::productId).toList());
+        outboxService.append(Order.STOCK_EVENT_TOPIC, messageKey, event);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public void payOrder(String orderId) {
+        LocalDateTime paidAt = LocalDateTime.now();
+
+        // 취소와 동시에 들어와도 한쪽만 성공하도록, 결제 대기 중이고 결제 가능 시간 안의 주문만 UPDATE 한 번으로 결제 완료로 바꿉니다.
+        if (orderRepository.updateStatusOrderedAfter(orderId, OrderStatus.PENDING, OrderStatus.PAID,
+                paidAt.minus(Order.PAYMENT_TIMEOUT)) == 0) {
+            Order order = orderRepository.findByOrderId(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
+            // 실패 이유(이미 처리됨 / 시간 초과)에 맞는 예외를 던집니다.
+            order.checkPayable(paidAt);
+            // 확인하는 사이 상태가 바뀐 경우
+            throw new IllegalStateException("결제 대기 중인 주문만 결제할 수 있습니다.");
+        }
+
+        OrderDetailResponseDto order = OrderDetailResponseDto.fromRows(orderRepository.findDetailRowsByOrderId(orderId));
+        List<OrderItemPayload> itemPayloads = order.items().stream()
+                .map(item -> new OrderItemPayload(item.productId(), item.quantity(), item.price()))
+                .toList();
+        String messageKey = Order.stockRoutingKey(order.orderId(),
+                order.items().stream().map(OrderDetailResponseDto.OrderItemInfo::productId).toList());
+
+        // stock-service 는 이 이벤트로 재고 예약을 확정합니다. (확정되지 않은 예약은 TTL 이 지나면 풀립니다)
+        // 예약이 먼저 풀렸으면 items 로 재고를 다시 차감합니다.
+        outboxService.append(Order.STOCK_EVENT_TOPIC, messageKey, new OrderPaidEvent(order.orderId(), order.userId(), paidAt, itemPayloads));
+    }
+}
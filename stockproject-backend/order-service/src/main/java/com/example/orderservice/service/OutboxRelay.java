@@ -0,0 +1,235 @@
+package com.example.orderservice.service;
+
+import com.example.dto.trace.TraceContext;
+import com.example.orderservice.config.KafkaProducer;
+import com.example.orderservice.domain.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.repository.OutboxKeyRow;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// outbox_events 에 쌓인 이벤트를 묶음으로 Kafka에 발행합니다.
+// 1. 짧은 트랜잭션에서 한 묶음을 골라 이 인스턴스가 발행 중인 것으로 점유(claimedBy, claimedUntil)하고 바로 커밋합니다.
+// 2. 트랜잭션 밖에서 묶음을 모두 비동기로 보낸 뒤 ack 를 한꺼번에 기다립니다. (DB 잠금을 잡은 채 Kafka 를 기다리지 않습니다)
+// 3. 전송이 확인된 이벤트는 삭제하고, 나머지는 점유를 풀어 다음 주기에 다시 보냅니다.
+// ⭐️ 같은 메시지 키(Order.stockRoutingKey)의 이벤트는 outbox 에 기록된 순서대로 Kafka 에 도착해야 합니다. (취소가 생성보다 먼저 가지 않도록)
+//    - 여러 인스턴스 사이 : 같은 키의 더 오래된 이벤트가 묶음 밖에 남아 있으면(다른 인스턴스가 발행 중이거나 잠금) 그 키는 이번에 건너뜁니다.
+//    - 한 묶음 안       : 같은 키의 이벤트는 앞 이벤트의 ack 를 받은 뒤에 보내고, 앞 이벤트가 실패하면 뒤 이벤트도 다음 주기로 미룹니다.
+// 점유한 채 인스턴스가 죽으면 claim-lease 가 지난 뒤 다른 인스턴스가 다시 보냅니다. (중복 전달은 stock-service 가 처리 기록으로 거릅니다)
+// 발행에 실패하면 failure-backoff 만큼 쉬었다가 다시 시도하고, 연속으로 실패할수록 max-failure-backoff 까지 두 배씩 늘립니다.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaProducer kafkaProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPipelineMetrics pipelineMetrics;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long failureBackoffMs;
+    private final long maxFailureBackoffMs;
+    private final Duration claimLease;
+    // 점유한 이벤트에 남기는 이 인스턴스의 ID
+    private final String relayId = UUID.randomUUID().toString();
+
+    // 발행 실패 후 다음 시도까지 기다릴 시간과, 다음 시도를 시작할 시각 (스케줄러 스레드에서만 접근)
+    private long currentBackoffMs;
+    private long nextAttemptAt;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaProducer kafkaProducer,
+            TransactionTemplate transactionTemplate,
+            OrderPipelineMetrics pipelineMetrics,
+            @Value("${order.outbox.batch-size:500}") int batchSize,
+            @Value("${order.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${order.outbox.failure-backoff-ms:1000}") long failureBackoffMs,
+            @Value("${order.outbox.max-failure-backoff-ms:30000}") long maxFailureBackoffMs,
+            @Value("${order.outbox.claim-lease-ms:30000}") long claimLeaseMs) {
+        // 전송을 기다리는 동안 점유가 풀리면 다른 인스턴스가 같은 이벤트를 뒤이어 보낼 수 있습니다.
+        if (claimLeaseMs <= sendTimeoutMs) {
+            throw new IllegalArgumentException("outbox 점유 시간은 전송 대기 시간보다 길어야 합니다. claim-lease-ms: "
+                    + claimLeaseMs + ", send-timeout-ms: " + sendTimeoutMs);
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaProducer = kafkaProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.pipelineMetrics = pipelineMetrics;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.failureBackoffMs = failureBackoffMs;
+        this.maxFailureBackoffMs = maxFailureBackoffMs;
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:100}")
+    public void relay() {
+        if (System.currentTimeMillis() < nextAttemptAt) {
+            return;
+        }
+        // 묶음 전체가 발행되었으면 쌓인 이벤트가 더 있을 수 있으므로 바로 다음 묶음을 처리합니다.
+        // 하나라도 실패하면 relayBatch 가 batchSize 보다 작은 값을 반환하므로 멈추고 backoff 뒤에 다시 시도합니다.
+        while (relayBatch() == batchSize) {
+            log.debug("outbox 에 이벤트가 더 남아 있어 이어서 발행합니다.");
+        }
+    }
+
+    // 한 묶음을 발행하고, 전송이 확인된 이벤트만 삭제합니다. 실패한 이벤트는 점유를 풀어 다음 주기에 다시 발행됩니다.
+    // 발행(삭제)된 이벤트 수를 반환합니다.
+    public int relayBatch() {
+        List<OutboxEvent> events = claimBatch();
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Long>> sends = new ArrayList<>(events.size());
+        Map<String, CompletableFuture<Long>> lastSendByKey = new HashMap<>();
+        for (OutboxEvent event : events) {
+            CompletableFuture<Long> previous = event.getMessageKey() == null ? null : lastSendByKey.get(event.getMessageKey());
+            // 프로듀서 I/O 스레드에서 다시 send 하지 않도록 이어지는 전송은 별도 스레드에서 시작합니다.
+            CompletableFuture<Long> send = previous == null
+                    ? send(event)
+                    : previous.thenComposeAsync(previousId -> previousId == null
+                            ? CompletableFuture.completedFuture(null)
+                            : send(event));
+            if (event.getMessageKey() != null) {
+                lastSendByKey.put(event.getMessageKey(), send);
+            }
+            sends.add(send);
+        }
+        awaitAll(sends);
+
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        List<Long> unpublishedIds = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            Long publishedId = sends.get(i).getNow(null);
+            if (publishedId != null) {
+                publishedIds.add(publishedId);
+            } else {
+                unpublishedIds.add(events.get(i).getId());
+            }
+        }
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(publishedIds);
+        }
+        log.info("outbox 이벤트 {}건 중 {}건을 발행했습니다.", events.size(), publishedIds.size());
+        if (!unpublishedIds.isEmpty()) {
+            outboxEventRepository.releaseClaims(unpublishedIds, relayId);
+            backOff(unpublishedIds.size());
+        } else {
+            currentBackoffMs = 0;
+        }
+        return publishedIds.size();
+    }
+
+    // 발행할 묶음을 골라 점유합니다. 트랜잭션은 고르고 표시하는 동안만 유지되므로 행 잠금도 그때 풀립니다.
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = inKeyOrder(outboxEventRepository.findBatchForRelay(now, PageRequest.of(0, batchSize)));
+            if (!events.isEmpty()) {
+                outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(), relayId, now.plus(claimLease));
+            }
+            return events;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    // 키마다 묶음 밖에 남은 가장 오래된 이벤트보다 앞선 이벤트만 남깁니다.
+    // 다른 인스턴스가 발행 중이거나 잠근 이벤트가 앞에 있으면 그 키의 이벤트는 모두 빠지고, 그 인스턴스가 끝낸 뒤에 보냅니다.
+    private List<OutboxEvent> inKeyOrder(List<OutboxEvent> candidates) {
+        Set<String> keys = new HashSet<>();
+        Set<Long> candidateIds = new HashSet<>();
+        for (OutboxEvent event : candidates) {
+            candidateIds.add(event.getId());
+            if (event.getMessageKey() != null) {
+                keys.add(event.getMessageKey());
+            }
+        }
+        if (keys.isEmpty()) {
+            return candidates;
+        }
+
+        Map<String, Long> firstOutsideIdByKey = new HashMap<>();
+        for (OutboxKeyRow row : outboxEventRepository.findKeyRows(keys, candidates.get(candidates.size() - 1).getId())) {
+            if (!candidateIds.contains(row.id())) {
+                firstOutsideIdByKey.merge(row.messageKey(), row.id(), Math::min);
+            }
+        }
+        if (firstOutsideIdByKey.isEmpty()) {
+            return candidates;
+        }
+        return candidates.stream()
+                .filter(event -> event.getMessageKey() == null
+                        || event.getId() < firstOutsideIdByKey.getOrDefault(event.getMessageKey(), Long.MAX_VALUE))
+                .toList();
+    }
+
+    private void backOff(int failed) {
+        currentBackoffMs = currentBackoffMs == 0 ? failureBackoffMs : Math.min(currentBackoffMs * 2, maxFailureBackoffMs);
+        nextAttemptAt = System.currentTimeMillis() + currentBackoffMs;
+        log.warn("outbox 이벤트 {}건을 발행하지 못했습니다. {}ms 뒤에 다시 시도합니다.", failed, currentBackoffMs);
+    }
+
+    // 전송 결과를 이벤트 ID로 바꿉니다. 실패하면 null 로 완료되어 삭제 대상에서 빠집니다.
+    private CompletableFuture<Long> send(OutboxEvent event) {
+        try {
+            pipelineMetrics.recordOutboxWait(Duration.ofMillis(System.currentTimeMillis() - event.createdAtEpochMilli()));
+            return pipelineMetrics.timePublish(() -> kafkaProducer.send(event.getTopic(), event.getMessageKey(), event.getPayload(), traceHeaders(event)))
+                    .thenApply(result -> event.getId())
+                    .exceptionally(e -> {
+                        log.error("outbox 이벤트 발행에 실패했습니다. id: {}, topic: {}", event.getId(), event.getTopic(), e);
+                        return null;
+                    });
+        } catch (Exception e) {
+            log.error("outbox 이벤트 발행에 실패했습니다. id: {}, topic: {}", event.getId(), event.getTopic(), e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // 컨슈머가 추적을 이어 가고, outbox 기록부터 처리 완료까지의 지연을 잴 수 있도록 헤더로 보냅니다.
+    static List<Header> traceHeaders(OutboxEvent event) {
+        List<Header> headers = new ArrayList<>(2);
+        if (event.getTraceparent() != null) {
+            headers.add(new RecordHeader(TraceContext.TRACEPARENT_HEADER, event.getTraceparent().getBytes(StandardCharsets.UTF_8)));
+        }
+        headers.add(new RecordHeader(TraceContext.CREATED_AT_HEADER,
+                String.valueOf(event.createdAtEpochMilli()).getBytes(StandardCharsets.UTF_8)));
+        return headers;
+    }
+
+    private void awaitAll(List<CompletableFuture<Long>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("outbox 발행 응답을 {}ms 안에 모두 받지 못했습니다. 미확인 이벤트는 다시 발행됩니다.", sendTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 개별 실패는 send() 에서 처리되므로 여기까지 오지 않습니다.
+            log.error("outbox 발행 중 예기치 못한 오류가 발생했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.orderservice.service;
+
+import com.example.dto.codec.EventCodec;
+import com.example.orderservice.domain.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    // 이벤트를 주문과 같은 트랜잭션에 기록합니다. 트랜잭션 밖에서 호출하면 예외가 발생합니다.
+    // 직렬화에 실패하면 예외를 던져 주문 저장도 함께 롤백시킵니다.
+    // messageKey 는 Kafka 파티션을 결정합니다. (Order.stockRoutingKey)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String messageKey, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(topic, messageKey, EventCodec.encode(payload)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("이벤트 직렬화에 실패했습니다. topic: " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.orderservice.cache;
+
+import com.example.orderservice.client.ProductClient;
+import com.example.orderservice.dto.response.ProductResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogCacheTest {
+
+    @Mock
+    private ProductClient productClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCatalogCache productCatalogCache;
+
+    private final ProductResponseDto product1 = new ProductResponseDto("product-id-101", "테스트 상품 1", 10000L);
+    private final ProductResponseDto product2 = new ProductResponseDto("product-id-102", "테스트 상품 2", 20000L);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCatalogCache = new ProductCatalogCache(productClient, meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("상품 조회: 캐시에 없는 상품만 product-service 에서 조회하고, 이후에는 캐시를 사용한다.")
+    void findProducts_FetchesOnlyMissingIds() {
+        // given
+        when(productClient.findProductsByIds(List.of("product-id-101"))).thenReturn(Mono.just(List.of(product1)));
+        when(productClient.findProductsByIds(List.of("product-id-102"))).thenReturn(Mono.just(List.of(product2)));
+
+        // when
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+        List<ProductResponseDto> products = productCatalogCache.findProducts(List.of("product-id-101", "product-id-102")).block();
+        List<ProductResponseDto> cachedProducts = productCatalogCache.findProducts(List.of("product-id-102", "product-id-101")).block();
+
+        // then
+        assertThat(products).containsExactlyInAnyOrder(product1, product2);
+        assertThat(cachedProducts).containsExactlyInAnyOrder(product1, product2);
+        verify(productClient, times(1)).findProductsByIds(List.of("product-id-101"));
+        verify(productClient, times(1)).findProductsByIds(List.of("product-id-102"));
+        verifyNoMoreInteractions(productClient);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "productCatalog").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "productCatalog").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("상품 조회: 같은 상품 ID가 여러 번 요청되어도 한 번만 조회한다.")
+    void findProducts_DeduplicatesIds() {
+        // given
+        when(productClient.findProductsByIds(List.of("product-id-101"))).thenReturn(Mono.just(List.of(product1)));
+
+        // when
+        List<ProductResponseDto> products = productCatalogCache.findProducts(List.of("product-id-101", "product-id-101")).block();
+
+        // then
+        assertThat(products).containsExactly(product1);
+        verify(productClient).findProductsByIds(List.of("product-id-101"));
+    }
+
+    @Test
+    @DisplayName("캐시 무효화: 제거된 상품은 다음 조회 때 다시 product-service 에서 조회한다.")
+    void evict_RemovesEntry() {
+        // given
+        when(productClient.findProductsByIds(anyList())).thenReturn(Mono.just(List.of(product1)));
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // when
+        productCatalogCache.evict("product-id-101");
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // then
+        verify(productClient, times(2)).findProductsByIds(List.of("product-id-101"));
+        assertThat(meterRegistry.get("product.catalog.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상품 조회: product-service 호출이 실패하면 TTL 이 지난 상품이라도 마지막으로 받은 정보로 대신한다.")
+    void findProducts_FallsBackToLastKnown() {
+        // given : TTL 이 0 이라 매번 product-service 를 다시 조회하는 캐시
+        productCatalogCache = new ProductCatalogCache(productClient, meterRegistry, 100, Duration.ZERO, Duration.ofMinutes(1));
+        when(productClient.findProductsByIds(List.of("product-id-101")))
+                .thenReturn(Mono.just(List.of(product1)))
+                .thenReturn(Mono.error(new IllegalStateException("product-service 호출이 일시적으로 차단되었습니다. (서킷 오픈)")));
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // when
+        List<ProductResponseDto> products = productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // then
+        assertThat(products).containsExactly(product1);
+        assertThat(meterRegistry.get("product.catalog.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상품 조회: 실패 - 마지막 정보가 없는 상품이 하나라도 있으면 원래 예외를 그대로 던진다.")
+    void findProducts_NoFallbackForUnknownProduct() {
+        // given
+        productCatalogCache = new ProductCatalogCache(productClient, meterRegistry, 100, Duration.ZERO, Duration.ofMinutes(1));
+        when(productClient.findProductsByIds(anyList()))
+                .thenReturn(Mono.just(List.of(product1)))
+                .thenReturn(Mono.error(new IllegalStateException("product-service 동시 호출 수가 한도를 넘었습니다.")));
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // when & then
+        assertThatThrownBy(() -> productCatalogCache.findProducts(List.of("product-id-101", "product-id-102")).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("동시 호출");
+    }
+
+    @Test
+    @DisplayName("캐시 무효화: 삭제된 상품은 장애 시에도 마지막 정보로 대신하지 않는다.")
+    void evict_RemovesLastKnown() {
+        // given
+        when(productClient.findProductsByIds(List.of("product-id-101")))
+                .thenReturn(Mono.just(List.of(product1)))
+                .thenReturn(Mono.error(new IllegalStateException("product-service 호출이 일시적으로 차단되었습니다. (서킷 오픈)")));
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // when
+        productCatalogCache.evict("product-id-101");
+
+        // then
+        assertThatThrownBy(() -> productCatalogCache.findProducts(List.of("product-id-101")).block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("캐시 무효화: 조회하는 사이 제거된 상품은 이번 응답에만 쓰고, 이전 값을 캐시에 다시 넣지 않는다.")
+    void evict_DuringFetch_DoesNotCacheStaleResult() {
+        // given : 응답이 오기 전에 상품 이벤트가 도착합니다.
+        Sinks.One<List<ProductResponseDto>> response = Sinks.one();
+        when(productClient.findProductsByIds(List.of("product-id-101")))
+                .thenReturn(response.asMono())
+                .thenReturn(Mono.just(List.of(product1)));
+        Mono<List<ProductResponseDto>> inFlight = productCatalogCache.findProducts(List.of("product-id-101"));
+
+        // when
+        productCatalogCache.evict("product-id-101");
+        response.tryEmitValue(List.of(product1));
+        List<ProductResponseDto> products = inFlight.block();
+        productCatalogCache.findProducts(List.of("product-id-101")).block();
+
+        // then
+        assertThat(products).containsExactly(product1);
+        verify(productClient, times(2)).findProductsByIds(List.of("product-id-101"));
+    }
+}
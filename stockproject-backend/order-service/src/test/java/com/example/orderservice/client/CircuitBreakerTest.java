@@ -0,0 +1,103 @@
+package com.example.orderservice.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        // 윈도우 4건, 실패율 50%, 10초 동안 오픈
+        circuitBreaker = new CircuitBreaker(4, 50, Duration.ofSeconds(10), now::get);
+    }
+
+    private void call(boolean success) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        if (success) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onError();
+        }
+    }
+
+    @Test
+    @DisplayName("윈도우가 다 차기 전에는 실패가 많아도 열리지 않고, 다 찬 뒤 실패율이 임계값 이상이면 열린다.")
+    void opensWhenFailureRateReachesThreshold() {
+        // when
+        call(false);
+        call(false);
+        call(true);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        call(true);
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("오래된 결과는 윈도우에서 밀려나, 최근 결과만으로 실패율을 계산한다.")
+    void slidesOldOutcomesOut() {
+        // when : 실패 1건 뒤 성공 4건 -> 최근 4건 실패율 0%
+        call(false);
+        call(true);
+        call(true);
+        call(true);
+        call(true);
+        call(false);
+
+        // then : 최근 4건 중 실패 1건 (25%)
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("오픈 시간이 지나면 시험 호출 한 건만 허용하고, 성공하면 닫힌다.")
+    void halfOpenTrialSuccessCloses() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+
+        // when
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        boolean trial = circuitBreaker.tryAcquirePermission();
+        boolean concurrent = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onSuccess();
+
+        // then
+        assertThat(trial).isTrue();
+        assertThat(concurrent).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        call(false);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 열리고, 결과를 알 수 없는 시험 호출은 다음 호출에 기회를 넘긴다.")
+    void halfOpenTrialFailureReopens() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // when
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onIgnored();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onError();
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+}
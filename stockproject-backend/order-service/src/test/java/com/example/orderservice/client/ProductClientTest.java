@@ -0,0 +1,223 @@
+package com.example.orderservice.client;
+
+import com.example.orderservice.dto.response.ProductResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductClientTest {
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductClient productClient;
+
+    private final ProductResponseDto product = new ProductResponseDto("product-id-101", "테스트 상품", 10000L);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productClient = productClient(1, false);
+    }
+
+    // 타임아웃 200ms, 서킷 윈도우 2건 / 실패율 50% / 오픈 10초, hedge 최소 지연 20ms
+    private ProductClient productClient(int maxConcurrentCalls, boolean hedgeEnabled) {
+        return new ProductClient(webClient, meterRegistry, Duration.ofMillis(200), maxConcurrentCalls,
+                2, 50, Duration.ofSeconds(10), hedgeEnabled, Duration.ofMillis(20));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenResponses(Mono<ProductResponseDto[]> first, Mono<ProductResponseDto[]>... rest) {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ProductResponseDto[].class)).thenReturn(first, rest);
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 성공 - product-service 응답 배열을 리스트로 변환한다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_Success() {
+        // given
+        givenResponses(Mono.just(new ProductResponseDto[]{product}));
+
+        // when
+        List<ProductResponseDto> products = productClient.findProductsByIds(List.of("product-id-101")).block();
+
+        // then
+        assertThat(products).containsExactly(product);
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 성공 - 응답 본문이 없으면 빈 리스트를 반환한다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_EmptyBody() {
+        // given
+        givenResponses(Mono.empty());
+
+        // when
+        List<ProductResponseDto> products = productClient.findProductsByIds(List.of("product-id-999")).block();
+
+        // then
+        assertThat(products).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 실패 - 응답이 타임아웃보다 늦으면 TimeoutException 으로 끝난다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_Timeout() {
+        // given
+        givenResponses(Mono.<ProductResponseDto[]>never());
+
+        // when & then
+        assertThatThrownBy(() -> productClient.findProductsByIds(List.of("product-id-101")).block())
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 실패 - 실패율이 임계값을 넘으면 서킷이 열려 product-service 를 호출하지 않고 바로 실패한다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_CircuitOpen() {
+        // given
+        givenResponses(Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null)));
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> productClient.findProductsByIds(List.of("product-id-101")).block())
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+
+        // when & then
+        assertThatThrownBy(() -> productClient.findProductsByIds(List.of("product-id-101")).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("서킷 오픈");
+        verify(webClient, times(2)).get();
+        assertThat(meterRegistry.get("product.client.circuit.state").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("product.client.rejections").tag("reason", "circuit-open").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 4xx 응답은 product-service 장애가 아니므로 서킷을 열지 않는다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_ClientErrorKeepsCircuitClosed() {
+        // given
+        givenResponses(Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null)));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> productClient.findProductsByIds(List.of("product-id-101")).block())
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+
+        // then
+        verify(webClient, times(3)).get();
+        assertThat(meterRegistry.get("product.client.circuit.state").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 실패 - 동시 호출 수가 한도를 넘으면 기다리지 않고 바로 실패한다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_BulkheadFull() {
+        // given
+        Sinks.One<ProductResponseDto[]> slowResponse = Sinks.one();
+        givenResponses(slowResponse.asMono());
+        List<ProductResponseDto> first = new ArrayList<>();
+        productClient.findProductsByIds(List.of("product-id-101")).subscribe(first::addAll);
+
+        // when & then
+        assertThatThrownBy(() -> productClient.findProductsByIds(List.of("product-id-102")).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("동시 호출");
+        assertThat(meterRegistry.get("product.client.rejections").tag("reason", "bulkhead-full").counter().count()).isEqualTo(1);
+
+        // 먼저 보낸 호출이 끝나면 자리가 납니다.
+        slowResponse.tryEmitValue(new ProductResponseDto[]{product});
+        assertThat(first).containsExactly(product);
+        assertThat(productClient.findProductsByIds(List.of("product-id-101")).block()).containsExactly(product);
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: hedge - 응답이 최근 p95 보다 늦으면 한 번 더 요청해 먼저 온 응답을 사용한다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_Hedge() {
+        // given : p95 를 잡을 만큼 빠른 응답을 쌓은 뒤, 다음 요청은 응답이 오지 않고 hedge 요청만 응답한다.
+        Mono<ProductResponseDto[]> fast = Mono.just(new ProductResponseDto[]{product});
+        Mono<ProductResponseDto[]>[] rest = new Mono[ProductClient.HEDGE_MIN_SAMPLES + 1];
+        Arrays.fill(rest, fast);
+        rest[ProductClient.HEDGE_MIN_SAMPLES - 1] = Mono.never();
+        givenResponses(fast, rest);
+        productClient = productClient(1, true);
+        for (int i = 0; i < ProductClient.HEDGE_MIN_SAMPLES; i++) {
+            productClient.findProductsByIds(List.of("product-id-101")).block();
+        }
+
+        // when
+        List<ProductResponseDto> products = productClient.findProductsByIds(List.of("product-id-101")).block(Duration.ofSeconds(1));
+
+        // then
+        assertThat(products).containsExactly(product);
+        assertThat(meterRegistry.get("product.client.hedges").counter().count()).isEqualTo(1);
+        verify(webClient, times(ProductClient.HEDGE_MIN_SAMPLES + 2)).get();
+    }
+
+    @Test
+    @DisplayName("상품 목록 조회: 성공 - ID 가 많으면 MAX_IDS_PER_REQUEST 개씩 나눠 요청하고 요청한 순서대로 합친다.")
+    @SuppressWarnings("unchecked")
+    void findProductsByIds_SplitsLargeRequests() {
+        // given
+        List<String> productIds = IntStream.range(0, 250).mapToObj(i -> "product-id-" + i).toList();
+        List<ProductResponseDto> expected = productIds.stream()
+                .map(id -> new ProductResponseDto(id, "상품", 1000L))
+                .toList();
+        givenResponses(
+                Mono.just(expected.subList(0, 100).toArray(ProductResponseDto[]::new)),
+                Mono.just(expected.subList(100, 200).toArray(ProductResponseDto[]::new)),
+                Mono.just(expected.subList(200, 250).toArray(ProductResponseDto[]::new)));
+        productClient = productClient(ProductClient.MAX_CONCURRENT_BATCHES, false);
+
+        // when
+        List<ProductResponseDto> products = productClient.findProductsByIds(productIds).block();
+
+        // then
+        ArgumentCaptor<Function<UriBuilder, URI>> uris = ArgumentCaptor.forClass(Function.class);
+        verify(requestHeadersUriSpec, times(3)).uri(uris.capture());
+        assertThat(uris.getAllValues())
+                .extracting(uri -> uri.apply(UriComponentsBuilder.newInstance()).getQuery().split(",").length)
+                .containsExactly(100, 100, 50);
+        assertThat(products).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.orderservice.client;
+
+import com.example.orderservice.dto.response.StockResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockClientTest {
+
+    private StockClient stockClient;
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    @BeforeEach
+    void setUp() {
+        stockClient = new StockClient(webClient, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("재고 목록 조회: 성공 - stock-service 응답 배열을 리스트로 변환한다.")
+    @SuppressWarnings("unchecked")
+    void findStocksByIds_Success() {
+        // given
+        StockResponseDto stock = new StockResponseDto("product-id-101", 7L);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(StockResponseDto[].class)).thenReturn(Mono.just(new StockResponseDto[]{stock}));
+
+        // when
+        List<StockResponseDto> stocks = stockClient.findStocksByIds(List.of("product-id-101")).block();
+
+        // then
+        assertThat(stocks).containsExactly(stock);
+    }
+
+    @Test
+    @DisplayName("재고 목록 조회: 성공 - 응답 본문이 없으면 빈 리스트를 반환한다.")
+    @SuppressWarnings("unchecked")
+    void findStocksByIds_EmptyBody() {
+        // given
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(StockResponseDto[].class)).thenReturn(Mono.empty());
+
+        // when
+        List<StockResponseDto> stocks = stockClient.findStocksByIds(List.of("product-id-999")).block();
+
+        // then
+        assertThat(stocks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재고 목록 조회: 실패 - stock-service 가 timeout 안에 응답하지 않으면 TimeoutException 으로 끝난다.")
+    @SuppressWarnings("unchecked")
+    void findStocksByIds_Timeout() {
+        // given
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(StockResponseDto[].class)).thenReturn(Mono.never());
+
+        // when & then
+        assertThatThrownBy(() -> stockClient.findStocksByIds(List.of("product-id-101")).block(Duration.ofSeconds(5)))
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("재고 목록 조회: 성공 - ID 가 많으면 MAX_IDS_PER_REQUEST 개씩 나눠 요청하고 요청한 순서대로 합친다.")
+    @SuppressWarnings("unchecked")
+    void findStocksByIds_SplitsLargeRequests() {
+        // given
+        List<String> productIds = IntStream.range(0, 250).mapToObj(i -> "product-id-" + i).toList();
+        List<StockResponseDto> expected = productIds.stream().map(id -> new StockResponseDto(id, 1L)).toList();
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(StockResponseDto[].class)).thenReturn(
+                Mono.just(expected.subList(0, 100).toArray(StockResponseDto[]::new)),
+                Mono.just(expected.subList(100, 200).toArray(StockResponseDto[]::new)),
+                Mono.just(expected.subList(200, 250).toArray(StockResponseDto[]::new)));
+
+        // when
+        List<StockResponseDto> stocks = stockClient.findStocksByIds(productIds).block();
+
+        // then
+        ArgumentCaptor<Function<UriBuilder, URI>> uris = ArgumentCaptor.forClass(Function.class);
+        verify(requestHeadersUriSpec, times(3)).uri(uris.capture());
+        assertThat(uris.getAllValues())
+                .extracting(uri -> uri.apply(UriComponentsBuilder.newInstance()).getQuery().split(",").length)
+                .containsExactly(100, 100, 50);
+        assertThat(stocks).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.orderservice.consumer;
+
+import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import com.example.orderservice.cache.ProductCatalogCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductEventConsumerTest {
+
+    @InjectMocks
+    private ProductEventConsumer productEventConsumer;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @Test
+    @DisplayName("상품 생성 이벤트: 성공 - 해당 상품의 캐시 항목을 제거한다.")
+    void listenProductCreation_EvictsProduct() {
+        // when
+        productEventConsumer.listenProductCreation(new ProductCreatedEvent("product-id-101", 100));
+
+        // then
+        verify(productCatalogCache).evict("product-id-101");
+    }
+
+    @Test
+    @DisplayName("상품 삭제 이벤트: 성공 - 해당 상품의 캐시 항목을 제거한다.")
+    void listenProductDeletion_EvictsProduct() {
+        // when
+        productEventConsumer.listenProductDeletion(new ProductDeletedEvent("product-id-101"));
+
+        // then
+        verify(productCatalogCache).evict("product-id-101");
+    }
+}
@@ -14,6 +14,8 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -47,13 +49,17 @@ class OrderControllerTest {
         String orderId = UUID.randomUUID().toString();
         OrderResponseDto responseDto = new OrderResponseDto(orderId, "PENDING", 20000L, LocalDateTime.now());
 
-        when(orderService.createOrder(any(OrderRequestDto.class))).thenReturn(responseDto);
+        when(orderService.createOrder(any(OrderRequestDto.class))).thenReturn(Mono.just(responseDto));
 
-        // when & then
-        mockMvc.perform(post("/api/v1/orders")
+        // when & then (Mono 반환이므로 비동기 요청이 시작된 뒤 디스패치 결과를 검증)
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/orders")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isCreated())
                 .andExpect(header().string("Location", "http://localhost/api/v1/orders/" + orderId))
                 .andExpect(jsonPath("$.orderId").value(orderId));
@@ -0,0 +1,72 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.domain.Order;
+import com.example.orderservice.domain.OrderItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"spring.cloud.bootstrap.enabled=false", "spring.cloud.config.enabled=false"})
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("주문 내역: 최신순으로 페이지를 나누고, 같은 시각의 주문은 id 로 이어서 빠짐없이 조회한다.")
+    void findHistoryIds_KeysetPages() {
+        // given
+        LocalDateTime sameTime = LocalDateTime.of(2025, 1, 1, 12, 0);
+        Order first = persist(1L, sameTime.minusMinutes(1));
+        Order second = persist(1L, sameTime);
+        Order third = persist(1L, sameTime);
+        Order fourth = persist(1L, sameTime.plusMinutes(1));
+        persist(2L, sameTime.plusMinutes(2)); // 다른 사용자의 주문
+
+        // when
+        List<Long> firstPage = orderRepository.findHistoryIds(1L, PageRequest.ofSize(2));
+        List<Long> secondPage = orderRepository.findHistoryIdsBefore(1L, third.getOrderedAt(), third.getId(), PageRequest.ofSize(2));
+
+        // then
+        assertThat(firstPage).containsExactly(fourth.getId(), third.getId());
+        assertThat(secondPage).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    @DisplayName("주문 내역: 페이지의 주문과 주문 상품을 한 번에 가져온다.")
+    void findAllWithItemsByIdIn() {
+        // given
+        Order order = persist(1L, LocalDateTime.of(2025, 1, 1, 12, 0));
+        entityManager.clear();
+
+        // when
+        List<Order> orders = orderRepository.findAllWithItemsByIdIn(List.of(order.getId()));
+
+        // then
+        assertThat(orders).hasSize(1);
+        assertThat(entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(orders.get(0), "orderItems")).isTrue();
+        assertThat(orders.get(0).getOrderItems()).extracting(OrderItem::getProductId)
+                .containsExactlyInAnyOrder("product-id-101", "product-id-102");
+    }
+
+    private Order persist(Long userId, LocalDateTime orderedAt) {
+        Order order = Order.createOrder(UUID.randomUUID().toString(), userId,
+                List.of(new OrderItem("product-id-101", 10000L, 1), new OrderItem("product-id-102", 5000L, 2)));
+        ReflectionTestUtils.setField(order, "orderedAt", orderedAt);
+        return entityManager.persistAndFlush(order);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.cache.ProductCatalogCache;
+import com.example.orderservice.client.StockClient;
+import com.example.orderservice.config.JpaBatchConfig;
+import com.example.orderservice.domain.Order;
+import com.example.orderservice.domain.OrderItem;
+import com.example.orderservice.domain.OrderStatus;
+import com.example.orderservice.dto.response.OrderDetailResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 주문 저장/조회/취소/결제가 실행하는 SQL 수를 Hibernate 통계로 확인합니다. (N+1 회귀 방지)
+@DataJpaTest(properties = {
+        "spring.cloud.bootstrap.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import({OrderServiceImpl.class, OutboxService.class, JpaBatchConfig.class, OrderPipelineMetrics.class, SimpleMeterRegistry.class})
+class OrderQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private ProductCatalogCache productCatalogCache;
+
+    @MockitoBean
+    private StockClient stockClient;
+
+    @MockitoBean
+    private Scheduler jdbcScheduler;
+
+    private Statistics statistics;
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        orderId = UUID.randomUUID().toString();
+        entityManager.persistAndFlush(Order.createOrder(orderId, 1L, List.of(
+                new OrderItem("product-id-101", 10000L, 1),
+                new OrderItem("product-id-102", 5000L, 2),
+                new OrderItem("product-id-103", 3000L, 3))));
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("주문 조회: 주문과 상품을 쿼리 한 번으로 읽고 엔티티를 만들지 않는다.")
+    void getOrderByOrderId_SingleQuery() {
+        // when
+        OrderDetailResponseDto order = orderService.getOrderByOrderId(orderId);
+
+        // then
+        assertThat(order.items()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("주문 취소: 조건부 UPDATE, 이벤트용 조회, outbox INSERT 세 문장으로 끝나고 엔티티를 읽거나 갱신하지 않는다.")
+    void cancelOrder_ConditionalUpdate() {
+        // when
+        orderService.cancelOrder(orderId);
+        entityManager.flush();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(orderService.getOrderByOrderId(orderId).status()).isEqualTo(OrderStatus.CANCELED.name());
+    }
+
+    @Test
+    @DisplayName("주문 결제: 조건부 UPDATE, 이벤트용 조회, outbox INSERT 세 문장으로 끝나고 엔티티를 읽거나 갱신하지 않는다.")
+    void payOrder_ConditionalUpdate() {
+        // when
+        orderService.payOrder(orderId);
+        entityManager.flush();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(orderService.getOrderByOrderId(orderId).status()).isEqualTo(OrderStatus.PAID.name());
+    }
+
+    @Test
+    @DisplayName("주문 결제: 먼저 취소된 주문은 결제되지 않고 취소 상태가 유지된다.")
+    void payOrder_AfterCancel_KeepsCanceled() {
+        // given
+        orderService.cancelOrder(orderId);
+
+        // when & then
+        assertThatThrownBy(() -> orderService.payOrder(orderId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("결제 대기 중인 주문만 결제할 수 있습니다.");
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(orderService.getOrderByOrderId(orderId).status()).isEqualTo(OrderStatus.CANCELED.name());
+    }
+
+    @Test
+    @DisplayName("주문 저장: 상품 수와 관계없이 주문 INSERT 한 번, 주문 상품 INSERT 배치 한 번으로 저장한다.")
+    void saveOrder_BatchesItemInserts() {
+        for (int itemCount : new int[]{1, 10, 30}) {
+            // given
+            List<OrderItem> items = IntStream.range(0, itemCount)
+                    .mapToObj(i -> new OrderItem("product-id-" + i, 1000L, 1))
+                    .toList();
+            statistics.clear();
+
+            // when
+            entityManager.persistAndFlush(Order.createOrder(UUID.randomUUID().toString(), 1L, items));
+
+            // then (시퀀스는 setUp 에서 미리 받아 두었으므로 INSERT 만 실행됩니다)
+            assertThat(statistics.getPrepareStatementCount()).as("상품 %d개", itemCount).isEqualTo(2);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + itemCount);
+        }
+    }
+}
@@ -2,28 +2,45 @@ package com.example.orderservice.service;
 
 import com.example.dto.OrderCancelledEvent;
 import com.example.dto.OrderCreatedEvent;
-import com.example.orderservice.config.KafkaProducer;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.OrderPaidEvent;
+import com.example.orderservice.cache.ProductCatalogCache;
+import com.example.orderservice.client.StockClient;
 import com.example.orderservice.domain.Order;
 import com.example.orderservice.domain.OrderItem;
 import com.example.orderservice.domain.OrderStatus;
 import com.example.orderservice.dto.request.OrderItemDto;
 import com.example.orderservice.dto.request.OrderRequestDto;
+import com.example.orderservice.dto.response.BulkOrderResultDto;
 import com.example.orderservice.dto.response.OrderDetailResponseDto;
+import com.example.orderservice.dto.response.OrderHistoryResponseDto;
 import com.example.orderservice.dto.response.OrderResponseDto;
 import com.example.orderservice.dto.response.ProductResponseDto;
+import com.example.orderservice.dto.response.StockResponseDto;
+import com.example.orderservice.repository.OrderDetailRow;
 import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,24 +50,32 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
 
-    @InjectMocks
     private OrderServiceImpl orderService;
 
     @Mock
     private OrderRepository orderRepository;
 
     @Mock
-    private WebClient webClient;
+    private ProductCatalogCache productCatalogCache;
 
     @Mock
-    private KafkaProducer kafkaProducer;
+    private StockClient stockClient;
 
     @Mock
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
-    @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
+    private OutboxService outboxService;
+
     @Mock
-    private WebClient.ResponseSpec responseSpec;
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 테스트에서는 DB 작업도 호출 스레드에서 바로 실행합니다.
+        orderService = new OrderServiceImpl(orderRepository, productCatalogCache, stockClient, outboxService, transactionTemplate, Schedulers.immediate(),
+                new OrderPipelineMetrics(meterRegistry));
+    }
 
     @Test
     @DisplayName("주문 조회: 성공 - orderId로 주문 상세 정보를 성공적으로 조회한다.")
@@ -58,8 +83,8 @@ class OrderServiceTest {
         // given
         String orderId = UUID.randomUUID().toString();
         String productId = "product-id-101"; // ⭐️ String으로 수정
-        Order order = Order.createOrder(orderId, 1L, List.of(new OrderItem(productId, 10000L, 2))); // ⭐️ String으로 수정
-        when(orderRepository.findByOrderId(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailRowsByOrderId(orderId)).thenReturn(List.of(
+                new OrderDetailRow(orderId, 1L, OrderStatus.PENDING, 20000L, LocalDateTime.now(), productId, 2, 10000L))); // ⭐️ String으로 수정
 
         // when
         OrderDetailResponseDto responseDto = orderService.getOrderByOrderId(orderId);
@@ -75,7 +100,7 @@ class OrderServiceTest {
     void getOrderByOrderId_Fail_OrderNotFound() {
         // given
         String nonExistingOrderId = "non-existing-order-id";
-        when(orderRepository.findByOrderId(nonExistingOrderId)).thenReturn(Optional.empty());
+        when(orderRepository.findDetailRowsByOrderId(nonExistingOrderId)).thenReturn(List.of());
 
         // when & then
         assertThatThrownBy(() -> orderService.getOrderByOrderId(nonExistingOrderId))
@@ -90,15 +115,15 @@ class OrderServiceTest {
         String nonExistingProductId = "product-id-999"; // ⭐️ String으로 수정
         OrderRequestDto requestDto = new OrderRequestDto(1L, List.of(new OrderItemDto(nonExistingProductId, 1))); // ⭐️ String으로 수정
 
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(ProductResponseDto[].class)).thenReturn(Mono.just(new ProductResponseDto[]{}));
+        when(productCatalogCache.findProducts(List.of(nonExistingProductId))).thenReturn(Mono.just(List.of()));
+        when(stockClient.findStocksByIds(List.of(nonExistingProductId))).thenReturn(Mono.just(List.of()));
 
         // when & then
-        assertThatThrownBy(() -> orderService.createOrder(requestDto))
+        assertThatThrownBy(() -> orderService.createOrder(requestDto).block())
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("상품 정보를 찾을 수 없습니다: " + nonExistingProductId);
+        verify(transactionTemplate, never()).execute(any());
+        verify(outboxService, never()).append(any(), any(), any());
     }
 
     @Test
@@ -113,22 +138,138 @@ class OrderServiceTest {
         OrderRequestDto requestDto = new OrderRequestDto(userId, List.of(new OrderItemDto(productId, quantity))); // ⭐️ String으로 수정
 
         ProductResponseDto productResponse = new ProductResponseDto(productId, "테스트 상품", price); // ⭐️ String으로 수정
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(ProductResponseDto[].class)).thenReturn(Mono.just(new ProductResponseDto[]{productResponse}));
-
+        when(productCatalogCache.findProducts(List.of(productId))).thenReturn(Mono.just(List.of(productResponse)));
+        when(stockClient.findStocksByIds(List.of(productId))).thenReturn(Mono.just(List.of(new StockResponseDto(productId, 10L))));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
         when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // when
-        OrderResponseDto responseDto = orderService.createOrder(requestDto);
+        OrderResponseDto responseDto = orderService.createOrder(requestDto).block();
 
         // then
         assertThat(responseDto).isNotNull();
         assertThat(responseDto.totalPrice()).isEqualTo(price * quantity);
         assertThat(responseDto.status()).isEqualTo("PENDING");
 
-        verify(kafkaProducer, times(1)).send(eq("order-created"), any(OrderCreatedEvent.class));
+        // 같은 상품의 이벤트가 같은 파티션으로 가도록 productId 를 메시지 키로 사용합니다.
+        verify(outboxService, times(1)).append(eq("order-stock-events"), eq(productId), any(OrderCreatedEvent.class));
+
+        // 상품 조회와 DB 저장 단계의 소요 시간이 기록됩니다.
+        assertThat(meterRegistry.get(OrderPipelineMetrics.TIMER_NAME).tag("stage", "product-lookup").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(OrderPipelineMetrics.TIMER_NAME).tag("stage", "db-save").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주문 생성: 실패 - 재고가 부족하면 주문을 저장하거나 이벤트를 발행하지 않고 거절한다.")
+    void createOrder_Fail_InsufficientStock() {
+        // given
+        String productId = "product-id-101";
+        OrderRequestDto requestDto = new OrderRequestDto(1L, List.of(new OrderItemDto(productId, 2), new OrderItemDto(productId, 2)));
+        when(productCatalogCache.findProducts(List.of(productId, productId)))
+                .thenReturn(Mono.just(List.of(new ProductResponseDto(productId, "테스트 상품", 10000L))));
+        when(stockClient.findStocksByIds(List.of(productId))).thenReturn(Mono.just(List.of(new StockResponseDto(productId, 3L))));
+
+        // when & then
+        assertThatThrownBy(() -> orderService.createOrder(requestDto).block())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족합니다: " + productId);
+        verify(transactionTemplate, never()).execute(any());
+        verify(outboxService, never()).append(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 생성: 성공 - 재고 조회에 실패하면 사전 확인을 건너뛰고 주문을 생성한다.")
+    void createOrder_StockLookupFails_SkipsPreCheck() {
+        // given
+        String productId = "product-id-101";
+        OrderRequestDto requestDto = new OrderRequestDto(1L, List.of(new OrderItemDto(productId, 2)));
+        when(productCatalogCache.findProducts(List.of(productId)))
+                .thenReturn(Mono.just(List.of(new ProductResponseDto(productId, "테스트 상품", 10000L))));
+        when(stockClient.findStocksByIds(List.of(productId))).thenReturn(Mono.error(new IllegalStateException("stock-service 장애")));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        OrderResponseDto responseDto = orderService.createOrder(requestDto).block();
+
+        // then
+        assertThat(responseDto).isNotNull();
+        verify(outboxService, times(1)).append(eq("order-stock-events"), any(), any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("대량 주문: 성공 - 묶음마다 상품을 중복 없이 한 번 조회하고 한 트랜잭션에 저장하며, 주문별 결과를 요청 순서대로 반환한다.")
+    void createOrders_ChunksAndReportsPerOrder() {
+        // given
+        ReflectionTestUtils.setField(orderService, "bulkChunkSize", 2);
+        List<OrderRequestDto> requests = List.of(
+                new OrderRequestDto(1L, List.of(new OrderItemDto("product-id-101", 1), new OrderItemDto("product-id-102", 1))),
+                new OrderRequestDto(2L, List.of(new OrderItemDto("product-id-102", 1), new OrderItemDto("product-id-999", 1))),
+                new OrderRequestDto(3L, List.of(new OrderItemDto("product-id-101", 2))));
+        ProductResponseDto product101 = new ProductResponseDto("product-id-101", "상품1", 1000L);
+        ProductResponseDto product102 = new ProductResponseDto("product-id-102", "상품2", 2000L);
+        when(productCatalogCache.findProducts(List.of("product-id-101", "product-id-102", "product-id-999")))
+                .thenReturn(Mono.just(List.of(product101, product102)));
+        when(productCatalogCache.findProducts(List.of("product-id-101"))).thenReturn(Mono.just(List.of(product101)));
+        when(stockClient.findStocksByIds(any())).thenReturn(Mono.just(List.of()));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        List<BulkOrderResultDto> results = orderService.createOrders(Flux.fromIterable(requests)).collectList().block();
+
+        // then
+        assertThat(results).extracting(BulkOrderResultDto::index).containsExactly(0L, 1L, 2L);
+        assertThat(results).extracting(BulkOrderResultDto::status).containsExactly("PENDING", BulkOrderResultDto.REJECTED, "PENDING");
+        assertThat(results.get(1).error()).isEqualTo("상품 정보를 찾을 수 없습니다: product-id-999");
+        assertThat(results.get(2).totalPrice()).isEqualTo(2000L);
+        verify(orderRepository, times(2)).saveAll(any());
+        verify(outboxService, times(2)).append(eq("order-stock-events"), eq("product-id-101"), any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("대량 주문: 실패 - 한 묶음의 상품 조회가 실패하면 그 묶음의 주문만 거절하고 다음 묶음은 계속 처리한다.")
+    void createOrders_ChunkFailure() {
+        // given
+        ReflectionTestUtils.setField(orderService, "bulkChunkSize", 1);
+        List<OrderRequestDto> requests = List.of(
+                new OrderRequestDto(1L, List.of(new OrderItemDto("product-id-101", 1))),
+                new OrderRequestDto(2L, List.of()),
+                new OrderRequestDto(3L, List.of(new OrderItemDto("product-id-102", 1))));
+        when(productCatalogCache.findProducts(List.of("product-id-101"))).thenReturn(Mono.error(new IllegalStateException("상품 서비스 오류")));
+        when(productCatalogCache.findProducts(List.of())).thenReturn(Mono.just(List.of()));
+        when(productCatalogCache.findProducts(List.of("product-id-102")))
+                .thenReturn(Mono.just(List.of(new ProductResponseDto("product-id-102", "상품2", 2000L))));
+        when(stockClient.findStocksByIds(any())).thenReturn(Mono.just(List.of()));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        List<BulkOrderResultDto> results = orderService.createOrders(Flux.fromIterable(requests)).collectList().block();
+
+        // then
+        assertThat(results).extracting(BulkOrderResultDto::error)
+                .containsExactly("주문 처리에 실패했습니다.", "주문 상품이 없습니다.", null);
+        verify(orderRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("메시지 키: 여러 상품이 담긴 주문은 상품 순서와 관계없이 가장 작은 productId 를 키로 사용한다.")
+    void stockRoutingKey_SmallestProductId() {
+        // given
+        Order order = Order.createOrder(UUID.randomUUID().toString(), 1L, List.of(
+                new OrderItem("product-id-103", 10000L, 1),
+                new OrderItem("product-id-101", 10000L, 1),
+                new OrderItem("product-id-102", 10000L, 1)));
+
+        // when & then
+        assertThat(order.stockRoutingKey()).isEqualTo("product-id-101");
     }
 
     @Test
@@ -137,14 +278,139 @@ class OrderServiceTest {
         //given
         String orderId = UUID.randomUUID().toString();
         String productId = "product-id-101"; // ⭐️ String으로 수정
-        Order order = Order.createOrder(orderId,1L,List.of(new OrderItem(productId, 10000L,2))); // ⭐️ String으로 수정
-        when(orderRepository.findByOrderId(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.updateStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELED)).thenReturn(1);
+        when(orderRepository.findDetailRowsByOrderId(orderId)).thenReturn(List.of(
+                new OrderDetailRow(orderId, 1L, OrderStatus.CANCELED, 20000L, LocalDateTime.now(), productId, 2, 10000L)));
 
         //when
         orderService.cancelOrder(orderId);
 
         //then
-        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELED);
-        verify(kafkaProducer, times(1)).send(eq("order-cancelled"), any(OrderCancelledEvent.class));
+        ArgumentCaptor<OrderCancelledEvent> event = ArgumentCaptor.forClass(OrderCancelledEvent.class);
+        verify(outboxService, times(1)).append(eq("order-stock-events"), eq(productId), event.capture());
+        assertThat(event.getValue().orderId()).isEqualTo(orderId);
+        assertThat(event.getValue().items()).extracting(OrderItemPayload::productId).containsExactly(productId);
+    }
+
+    @Test
+    @DisplayName("주문 취소: 실패 - 없는 주문이거나 이미 처리된 주문이면 이벤트를 발행하지 않는다.")
+    void cancelOrder_Fail() {
+        // given
+        when(orderRepository.updateStatus(any(), eq(OrderStatus.PENDING), eq(OrderStatus.CANCELED))).thenReturn(0);
+        when(orderRepository.existsByOrderId("non-existing-order-id")).thenReturn(false);
+        when(orderRepository.existsByOrderId("paid-order-id")).thenReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> orderService.cancelOrder("non-existing-order-id"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문을 찾을 수 없습니다.");
+        assertThatThrownBy(() -> orderService.cancelOrder("paid-order-id"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("이미 처리된 주문은 취소할 수 없습니다.");
+        verify(outboxService, never()).append(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 결제 요청이 오면, 결제 대기 중인 주문만 조건부 UPDATE 로 결제 완료로 바꾸고 결제 이벤트를 발행한다.")
+    void payOrder_Success() {
+        // given
+        String orderId = UUID.randomUUID().toString();
+        when(orderRepository.updateStatusOrderedAfter(eq(orderId), eq(OrderStatus.PENDING), eq(OrderStatus.PAID), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(orderRepository.findDetailRowsByOrderId(orderId)).thenReturn(List.of(
+                new OrderDetailRow(orderId, 1L, OrderStatus.PAID, 20000L, LocalDateTime.now(), "product-id-101", 2, 10000L)));
+
+        // when
+        orderService.payOrder(orderId);
+
+        // then
+        ArgumentCaptor<OrderPaidEvent> event = ArgumentCaptor.forClass(OrderPaidEvent.class);
+        verify(outboxService, times(1)).append(eq("order-stock-events"), eq("product-id-101"), event.capture());
+        assertThat(event.getValue().orderId()).isEqualTo(orderId);
+        assertThat(event.getValue().items()).containsExactly(new OrderItemPayload("product-id-101", 2, 10000L));
+        verify(orderRepository, never()).findByOrderId(any());
+    }
+
+    @Test
+    @DisplayName("주문 결제: 실패 - 결제 대기 중이 아닌 주문이나 결제 가능 시간이 지난 주문은 결제할 수 없다.")
+    void payOrder_Fail_NotPayable() {
+        // given
+        Order cancelled = Order.createOrder(UUID.randomUUID().toString(), 1L, List.of(new OrderItem("product-id-101", 10000L, 2)));
+        cancelled.cancel();
+        Order pending = Order.createOrder(UUID.randomUUID().toString(), 1L, List.of(new OrderItem("product-id-101", 10000L, 2)));
+        when(orderRepository.updateStatusOrderedAfter(any(), eq(OrderStatus.PENDING), eq(OrderStatus.PAID), any())).thenReturn(0);
+        when(orderRepository.findByOrderId(cancelled.getOrderId())).thenReturn(Optional.of(cancelled));
+        when(orderRepository.findByOrderId("non-existing-order-id")).thenReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> orderService.payOrder(cancelled.getOrderId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("결제 대기 중인 주문만 결제할 수 있습니다.");
+        assertThatThrownBy(() -> orderService.payOrder("non-existing-order-id"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문을 찾을 수 없습니다.");
+        assertThatThrownBy(() -> pending.pay(pending.getOrderedAt().plus(Order.PAYMENT_TIMEOUT).plusSeconds(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("결제 가능 시간이 지난 주문입니다.");
+        verify(outboxService, never()).append(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 결제: 실패 - 조건부 UPDATE 가 취소에 밀리면, 조회 시점에 결제 대기로 보여도 결제 이벤트를 발행하지 않는다.")
+    void payOrder_Fail_LostRaceToCancel() {
+        // given
+        Order order = Order.createOrder(UUID.randomUUID().toString(), 1L, List.of(new OrderItem("product-id-101", 10000L, 2)));
+        when(orderRepository.updateStatusOrderedAfter(eq(order.getOrderId()), eq(OrderStatus.PENDING), eq(OrderStatus.PAID), any()))
+                .thenReturn(0);
+        when(orderRepository.findByOrderId(order.getOrderId())).thenReturn(Optional.of(order));
+
+        // when & then
+        assertThatThrownBy(() -> orderService.payOrder(order.getOrderId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("결제 대기 중인 주문만 결제할 수 있습니다.");
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        verify(outboxService, never()).append(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("주문 내역: 성공 - ID 페이지 순서대로 주문을 반환하고, 각 줄의 커서로 다음 페이지를 이어서 조회한다.")
+    void getOrderHistory_KeysetPages() {
+        // given
+        Order newer = orderWithId(2L, "product-id-101");
+        Order older = orderWithId(1L, "product-id-102");
+        when(orderRepository.findHistoryIds(1L, PageRequest.ofSize(2))).thenReturn(List.of(2L, 1L));
+        // fetch join 결과의 순서는 보장되지 않습니다.
+        when(orderRepository.findAllWithItemsByIdIn(List.of(2L, 1L))).thenReturn(List.of(older, newer));
+
+        // when
+        List<OrderHistoryResponseDto> firstPage = orderService.getOrderHistory(1L, null, 2).collectList().block();
+        orderService.getOrderHistory(1L, firstPage.get(1).cursor(), 2).collectList().block();
+
+        // then
+        assertThat(firstPage).extracting(OrderHistoryResponseDto::orderId).containsExactly(newer.getOrderId(), older.getOrderId());
+        assertThat(firstPage.get(0).items().get(0).productId()).isEqualTo("product-id-101");
+        verify(orderRepository).findHistoryIdsBefore(1L, older.getOrderedAt(), 1L, PageRequest.ofSize(2));
+    }
+
+    @Test
+    @DisplayName("주문 내역: 실패 - 잘못된 커서나 1보다 작은 페이지 크기는 거절하고, 최대 크기보다 크면 최대 크기로 조회한다.")
+    void getOrderHistory_InvalidRequest() {
+        // when & then
+        assertThatThrownBy(() -> orderService.getOrderHistory(1L, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다: not-a-cursor");
+        assertThatThrownBy(() -> orderService.getOrderHistory(1L, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("페이지 크기는 1 이상이어야 합니다.");
+
+        orderService.getOrderHistory(1L, null, 1000).collectList().block();
+        verify(orderRepository).findHistoryIds(1L, PageRequest.ofSize(OrderServiceImpl.MAX_HISTORY_PAGE_SIZE));
+        verify(orderRepository, never()).findAllWithItemsByIdIn(any());
+    }
+
+    private Order orderWithId(Long id, String productId) {
+        Order order = Order.createOrder(UUID.randomUUID().toString(), 1L, List.of(new OrderItem(productId, 10000L, 1)));
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,260 @@
+package com.example.orderservice.service;
+
+import com.example.dto.trace.TraceContext;
+import com.example.orderservice.config.KafkaProducer;
+import com.example.orderservice.domain.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.repository.OutboxKeyRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaProducer kafkaProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaProducer, transactionTemplate,
+                new OrderPipelineMetrics(meterRegistry), 500, 1000, 60_000, 60_000, 5000);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    private OutboxEvent outboxEvent(long id, String orderId) {
+        return outboxEvent(id, "order-created", orderId);
+    }
+
+    private OutboxEvent outboxEvent(long id, String topic, String key) {
+        OutboxEvent event = new OutboxEvent(topic, key, (topic + key).getBytes(StandardCharsets.UTF_8));
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 성공 - 묶음 전체를 orderId 키로 보내고, 전송된 이벤트를 한 번에 삭제한다.")
+    void relayBatch_PublishesAndDeletes() {
+        // given
+        OutboxEvent event1 = outboxEvent(1L, "order-1");
+        OutboxEvent event2 = outboxEvent(2L, "order-2");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(event1, event2));
+        when(kafkaProducer.send(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // when
+        int relayed = outboxRelay.relayBatch();
+
+        // then
+        assertThat(relayed).isEqualTo(2);
+        verify(kafkaProducer).send(eq("order-created"), eq("order-1"), eq(event1.getPayload()), any());
+        verify(kafkaProducer).send(eq("order-created"), eq("order-2"), eq(event2.getPayload()), any());
+        verify(outboxEventRepository).claim(eq(List.of(1L, 2L)), anyString(), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository, never()).releaseClaims(any(), any());
+        assertThat(meterRegistry.get(OrderPipelineMetrics.TIMER_NAME).tag("stage", "publish").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(OrderPipelineMetrics.TIMER_NAME).tag("stage", "outbox-wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 일부 실패 - 전송에 실패한 이벤트는 삭제하지 않고 점유를 풀어 다음 주기에 다시 보낸다.")
+    void relayBatch_KeepsFailedEvents() {
+        // given
+        OutboxEvent event1 = outboxEvent(1L, "order-1");
+        OutboxEvent event2 = outboxEvent(2L, "order-2");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(event1, event2));
+        when(kafkaProducer.send(eq("order-created"), eq("order-1"), eq(event1.getPayload()), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("브로커 응답 없음")));
+        when(kafkaProducer.send(eq("order-created"), eq("order-2"), eq(event2.getPayload()), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // when
+        int relayed = outboxRelay.relayBatch();
+
+        // then
+        assertThat(relayed).isEqualTo(1);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(outboxEventRepository).releaseClaims(eq(List.of(1L)), anyString());
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 같은 키 - 앞 이벤트가 실패하면 같은 키의 뒤 이벤트는 보내지 않고 다음 주기로 미룬다.")
+    void relayBatch_StopsAtFirstFailurePerKey() {
+        // given
+        OutboxEvent created = outboxEvent(1L, "order-created", "product-1");
+        OutboxEvent otherKey = outboxEvent(2L, "order-created", "product-2");
+        OutboxEvent cancelled = outboxEvent(3L, "order-cancelled", "product-1");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(created, otherKey, cancelled));
+        when(kafkaProducer.send(eq("order-created"), eq("product-1"), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("브로커 응답 없음")));
+        when(kafkaProducer.send(eq("order-created"), eq("product-2"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // when
+        outboxRelay.relayBatch();
+
+        // then
+        verify(kafkaProducer, never()).send(eq("order-cancelled"), any(), any(), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 같은 키 - 앞 이벤트의 ack 를 받은 뒤 같은 키의 뒤 이벤트를 순서대로 보낸다.")
+    void relayBatch_SendsSameKeyInOrder() {
+        // given
+        OutboxEvent created = outboxEvent(1L, "order-created", "product-1");
+        OutboxEvent cancelled = outboxEvent(2L, "order-cancelled", "product-1");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(created, cancelled));
+        CompletableFuture<SendResult<String, byte[]>> createdAck = new CompletableFuture<>();
+        when(kafkaProducer.send(eq("order-created"), eq("product-1"), any(), any())).thenReturn(createdAck);
+        when(kafkaProducer.send(eq("order-cancelled"), eq("product-1"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> {
+            // ack 전에는 뒤 이벤트를 보내지 않았어야 합니다.
+            verify(kafkaProducer, never()).send(eq("order-cancelled"), any(), any(), any());
+            createdAck.complete(mock(SendResult.class));
+        });
+
+        // when
+        int relayed = outboxRelay.relayBatch();
+
+        // then
+        assertThat(relayed).isEqualTo(2);
+        InOrder inOrder = inOrder(kafkaProducer);
+        inOrder.verify(kafkaProducer).send(eq("order-created"), eq("product-1"), any(), any());
+        inOrder.verify(kafkaProducer).send(eq("order-cancelled"), eq("product-1"), any(), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 여러 인스턴스 - 같은 키의 더 오래된 이벤트가 묶음 밖에 있으면(다른 인스턴스가 발행 중) 그 키는 건너뛴다.")
+    void relayBatch_SkipsKeyWithOlderEventOutsideBatch() {
+        // given : 1번(product-1)은 다른 인스턴스가 점유해 이번 묶음에 없고, 4번(product-1)은 다른 인스턴스가 잠가서 없다.
+        OutboxEvent cancelled = outboxEvent(2L, "order-cancelled", "product-1");
+        OutboxEvent otherKey = outboxEvent(3L, "order-created", "product-2");
+        OutboxEvent paid = outboxEvent(5L, "order-paid", "product-3");
+        OutboxEvent afterGap = outboxEvent(6L, "order-cancelled", "product-3");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(cancelled, otherKey, paid, afterGap));
+        when(outboxEventRepository.findKeyRows(any(), eq(6L))).thenReturn(List.of(
+                new OutboxKeyRow(1L, "product-1"), new OutboxKeyRow(2L, "product-1"),
+                new OutboxKeyRow(3L, "product-2"),
+                new OutboxKeyRow(4L, "product-3"), new OutboxKeyRow(5L, "product-3"), new OutboxKeyRow(6L, "product-3")));
+        when(kafkaProducer.send(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // when
+        int relayed = outboxRelay.relayBatch();
+
+        // then : product-2 만 보내고, product-1 과 product-3 은 앞선 이벤트가 끝난 뒤 다음 주기에 보낸다.
+        assertThat(relayed).isEqualTo(1);
+        verify(kafkaProducer).send(eq("order-created"), eq("product-2"), any(), any());
+        verifyNoMoreInteractions(kafkaProducer);
+        verify(outboxEventRepository).claim(eq(List.of(3L)), anyString(), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 점유 시간이 전송 대기 시간보다 짧으면 생성할 수 없다.")
+    void constructor_ClaimLeaseShorterThanSendTimeout() {
+        assertThatThrownBy(() -> new OutboxRelay(outboxEventRepository, kafkaProducer, transactionTemplate,
+                new OrderPipelineMetrics(meterRegistry), 500, 10_000, 1000, 30_000, 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 실패 후에는 같은 묶음을 바로 다시 읽지 않고 backoff 동안 쉰다.")
+    void relay_BacksOffAfterFailure() {
+        // given : 묶음 크기만큼 쌓여 있지만 하나가 실패한다.
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaProducer, transactionTemplate,
+                new OrderPipelineMetrics(meterRegistry), 2, 1000, 60_000, 60_000, 5000);
+        OutboxEvent event1 = outboxEvent(1L, "order-1");
+        OutboxEvent event2 = outboxEvent(2L, "order-2");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(event1, event2));
+        when(kafkaProducer.send(eq("order-created"), eq("order-1"), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("브로커 응답 없음")));
+        when(kafkaProducer.send(eq("order-created"), eq("order-2"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // when
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // then : 첫 relay 는 한 묶음만 처리하고 멈추며, 두 번째 relay 는 backoff 중이라 아무것도 읽지 않는다.
+        verify(outboxEventRepository, times(1)).findBatchForRelay(any(), any());
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 추적 헤더 - 이벤트의 traceparent 와 outbox 기록 시각을 Kafka 헤더로 함께 보낸다.")
+    @SuppressWarnings("unchecked")
+    void relayBatch_SendsTraceHeaders() {
+        // given
+        OutboxEvent event = outboxEvent(1L, "order-1");
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of(event));
+        when(kafkaProducer.send(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // when
+        outboxRelay.relayBatch();
+
+        // then
+        ArgumentCaptor<Iterable<Header>> headers = ArgumentCaptor.forClass(Iterable.class);
+        verify(kafkaProducer).send(eq("order-created"), eq("order-1"), eq(event.getPayload()), headers.capture());
+        assertThat(headers.getValue())
+                .extracting(Header::key, header -> new String(header.value(), StandardCharsets.UTF_8))
+                .containsExactly(
+                        tuple(TraceContext.TRACEPARENT_HEADER, event.getTraceparent()),
+                        tuple(TraceContext.CREATED_AT_HEADER, String.valueOf(event.createdAtEpochMilli())));
+        assertThat(TraceContext.traceId(event.getTraceparent())).hasSize(32);
+    }
+
+    @Test
+    @DisplayName("outbox 발행: 발행할 이벤트가 없으면 아무것도 보내지 않는다.")
+    void relayBatch_Empty() {
+        // given
+        when(outboxEventRepository.findBatchForRelay(any(), any())).thenReturn(List.of());
+
+        // when
+        int relayed = outboxRelay.relayBatch();
+
+        // then
+        assertThat(relayed).isZero();
+        verifyNoInteractions(kafkaProducer);
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+}
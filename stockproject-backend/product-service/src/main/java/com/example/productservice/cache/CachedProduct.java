@@ -0,0 +1,13 @@
+package com.example.productservice.cache;
+
+import com.example.productservice.dto.response.ProductResponseDto;
+
+// 캐시에 저장되는 값. product 가 null 이면 "존재하지 않는 상품"을 캐시한 것입니다. (negative caching)
+record CachedProduct(ProductResponseDto product) {
+
+    static final CachedProduct MISSING = new CachedProduct(null);
+
+    boolean isMissing() {
+        return product == null;
+    }
+}
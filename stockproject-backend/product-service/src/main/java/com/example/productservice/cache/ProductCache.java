@@ -0,0 +1,125 @@
+package com.example.productservice.cache;
+
+import com.example.productservice.dto.response.ProductResponseDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// 상품 단건 조회 캐시. 로컬(Caffeine) -> Redis(선택) -> MongoDB 순서로 조회합니다. (read-through)
+// - 같은 키에 대한 동시 미스는 한 번만 로드하고 나머지는 그 결과를 기다립니다. (stampede 방지)
+//   로드는 Caffeine 의 compute 잠금(synchronized) 밖에서 하므로, 가상 스레드가 조회를 기다리는 동안 캐리어 스레드를 붙잡지 않습니다.
+// - 존재하지 않는 ID도 negative-ttl 동안 캐시해서 반복 조회가 MongoDB 까지 가지 않게 합니다.
+// - evict 는 Redis 에 짧은 삭제 표시를 남기고, 로드 결과는 키가 비어 있을 때만 Redis 에 넣습니다. (evict 와 겹친 로드가 이전 값을 되살리지 않도록)
+// - 로컬 캐시는 인스턴스마다 있으므로 다른 인스턴스의 삭제는 local-ttl 이 지나야 반영됩니다.
+@Component
+public class ProductCache {
+
+    private final AsyncCache<String, CachedProduct> localCache;
+    private final RemoteProductCache remoteCache; // product.cache.redis.enabled=false 이면 null
+
+    @Autowired
+    public ProductCache(
+            ObjectProvider<RemoteProductCache> remoteCache,
+            MeterRegistry meterRegistry,
+            @Value("${product.cache.local.maximum-size:10000}") long maximumSize,
+            @Value("${product.cache.local.ttl:30s}") Duration ttl,
+            @Value("${product.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this(remoteCache.getIfAvailable(), meterRegistry, maximumSize, ttl, negativeTtl);
+    }
+
+    ProductCache(RemoteProductCache remoteCache, MeterRegistry meterRegistry, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.remoteCache = remoteCache;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new CachedProductExpiry(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache.synchronous(), "productById");
+    }
+
+    // 캐시에 없으면 loader(MongoDB 조회)로 채웁니다. 존재하지 않는 상품이면 Optional.empty()
+    public Optional<ProductResponseDto> get(String productId, Function<String, Optional<ProductResponseDto>> loader) {
+        // 잠금 안에서는 빈 future 만 등록하고, 등록한 호출자가 잠금 밖에서 로드해서 채웁니다.
+        CompletableFuture<CachedProduct> loading = new CompletableFuture<>();
+        CompletableFuture<CachedProduct> cached = localCache.get(productId, (id, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(load(productId, loader));
+            } catch (Throwable e) {
+                // 실패한 future 는 Caffeine 이 캐시에서 제거하므로 다음 조회는 다시 로드합니다.
+                loading.completeExceptionally(e);
+            }
+        }
+        try {
+            return Optional.ofNullable(cached.join().product());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 상품 등록 시 바로 캐시에 넣습니다. (write-through)
+    public void put(ProductResponseDto product) {
+        CachedProduct cached = new CachedProduct(product);
+        localCache.put(product.productId(), CompletableFuture.completedFuture(cached));
+        if (remoteCache != null) {
+            remoteCache.put(product.productId(), cached);
+        }
+    }
+
+    public void evict(String productId) {
+        localCache.synchronous().invalidate(productId);
+        if (remoteCache != null) {
+            remoteCache.evict(productId);
+        }
+    }
+
+    private CachedProduct load(String productId, Function<String, Optional<ProductResponseDto>> loader) {
+        if (remoteCache != null) {
+            CachedProduct remote = remoteCache.get(productId);
+            if (remote != null) {
+                return remote;
+            }
+        }
+        CachedProduct loaded = loader.apply(productId)
+                .map(CachedProduct::new)
+                .orElse(CachedProduct.MISSING);
+        if (remoteCache != null) {
+            // 조회하는 동안 evict 되었으면 삭제 표시가 남아 있으므로 이전 값을 다시 넣지 않습니다.
+            remoteCache.putIfAbsent(productId, loaded);
+        }
+        return loaded;
+    }
+
+    // 존재하는 상품과 없는 상품의 만료 시간을 따로 적용합니다.
+    private record CachedProductExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, CachedProduct> {
+        @Override
+        public long expireAfterCreate(String productId, CachedProduct value, long currentTime) {
+            return (value.isMissing() ? negativeTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String productId, CachedProduct value, long currentTime, long currentDuration) {
+            return expireAfterCreate(productId, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String productId, CachedProduct value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
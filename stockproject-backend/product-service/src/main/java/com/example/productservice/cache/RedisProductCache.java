@@ -0,0 +1,101 @@
+package com.example.productservice.cache;
+
+import com.example.productservice.dto.response.ProductResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Redis 공유 캐시. key : "product-cache:{productId}", value : ProductResponseDto JSON (없는 상품은 빈 문자열, 삭제 표시는 "-")
+// ⭐️ evict 는 키를 지우지 않고 tombstone-ttl 동안 삭제 표시를 남깁니다.
+//    evict 전에 MongoDB 에서 읽은 이전 값이 evict 뒤에 도착해도 putIfAbsent(SET NX)가 실패하므로 redis.ttl 동안 되살아나지 않습니다.
+//    tombstone-ttl 은 MongoDB 조회 한 번보다 길어야 합니다. 그 동안의 조회는 MongoDB 로 갑니다.
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "product.cache.redis.enabled", havingValue = "true")
+class RedisProductCache implements RemoteProductCache {
+
+    private static final String KEY_PREFIX = "product-cache:";
+    private static final String MISSING_VALUE = "";
+    private static final String TOMBSTONE_VALUE = "-";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration tombstoneTtl;
+
+    RedisProductCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${product.cache.redis.ttl:10m}") Duration ttl,
+            @Value("${product.cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${product.cache.redis.tombstone-ttl:10s}") Duration tombstoneTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.tombstoneTtl = tombstoneTtl;
+    }
+
+    @Override
+    public CachedProduct get(String productId) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + productId);
+            if (value == null || TOMBSTONE_VALUE.equals(value)) {
+                return null;
+            }
+            if (MISSING_VALUE.equals(value)) {
+                return CachedProduct.MISSING;
+            }
+            return new CachedProduct(objectMapper.readValue(value, ProductResponseDto.class));
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 조회에 실패했습니다. ProductId: {}", productId, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String productId, CachedProduct cachedProduct) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + productId, serialize(cachedProduct),
+                    withJitter(cachedProduct.isMissing() ? negativeTtl : ttl));
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 저장에 실패했습니다. ProductId: {}", productId, e);
+        }
+    }
+
+    @Override
+    public void putIfAbsent(String productId, CachedProduct cachedProduct) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + productId, serialize(cachedProduct),
+                    withJitter(cachedProduct.isMissing() ? negativeTtl : ttl));
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 저장에 실패했습니다. ProductId: {}", productId, e);
+        }
+    }
+
+    @Override
+    public void evict(String productId) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + productId, TOMBSTONE_VALUE, tombstoneTtl);
+        } catch (Exception e) {
+            log.warn("Redis 상품 캐시 삭제에 실패했습니다. ProductId: {}", productId, e);
+        }
+    }
+
+    private String serialize(CachedProduct cachedProduct) throws Exception {
+        return cachedProduct.isMissing() ? MISSING_VALUE : objectMapper.writeValueAsString(cachedProduct.product());
+    }
+
+    // 같은 시각에 채워진 키들이 한꺼번에 만료되어 MongoDB 로 몰리지 않도록 TTL 을 최대 10% 늘립니다.
+    private Duration withJitter(Duration base) {
+        long jitterMillis = ThreadLocalRandom.current().nextLong(base.toMillis() / 10 + 1);
+        return base.plusMillis(jitterMillis);
+    }
+}
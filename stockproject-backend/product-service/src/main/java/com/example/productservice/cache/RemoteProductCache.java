@@ -0,0 +1,17 @@
+package com.example.productservice.cache;
+
+// product-service 인스턴스들이 함께 사용하는 2단계 캐시.
+// 장애가 나더라도 조회는 계속 되어야 하므로, 구현체는 예외를 던지지 않고 캐시 미스로 처리합니다.
+interface RemoteProductCache {
+
+    // 캐시에 없으면 null
+    CachedProduct get(String productId);
+
+    void put(String productId, CachedProduct cachedProduct);
+
+    // 조회(load) 결과를 채울 때 사용합니다. 키가 비어 있을 때만 넣으므로 그 사이 evict 가 남긴 삭제 표시를 덮어쓰지 않습니다.
+    void putIfAbsent(String productId, CachedProduct cachedProduct);
+
+    // 캐시를 지우고 짧은 시간 동안 삭제 표시(tombstone)를 남깁니다. 삭제 표시가 있는 동안 get 은 null(미스)을 반환합니다.
+    void evict(String productId);
+}
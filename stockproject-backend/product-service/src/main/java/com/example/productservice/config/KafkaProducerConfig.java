@@ -0,0 +1,26 @@
+package com.example.productservice.config;
+
+import com.example.dto.codec.EventSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    // 상품 이벤트를 common-dto 바이너리 포맷(EventCodec)으로 발행합니다.
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<Object, Object> producerFactory) {
+        Map<String, Object> props = new HashMap<>(producerFactory.getConfigurationProperties());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+}
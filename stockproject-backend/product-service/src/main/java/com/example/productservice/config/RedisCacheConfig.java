@@ -0,0 +1,16 @@
+package com.example.productservice.config;
+
+import org.springframework.boot.actuate.autoconfigure.data.redis.RedisHealthContributorAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+
+// Redis 는 상품 공유 캐시(RedisProductCache)에만 쓰므로, product.cache.redis.enabled=true 일 때만 연결과 헬스 체크를 등록합니다.
+// 꺼져 있으면 Redis 가 없는 환경에서도 /actuator/health 가 Redis 때문에 DOWN 이 되지 않습니다.
+// (Redis 자동 설정은 ProductServiceApplication 에서 제외하고 여기서만 가져옵니다)
+@Configuration
+@ConditionalOnProperty(name = "product.cache.redis.enabled", havingValue = "true")
+@ImportAutoConfiguration({RedisAutoConfiguration.class, RedisHealthContributorAutoConfiguration.class})
+public class RedisCacheConfig {
+}
@@ -0,0 +1,202 @@
+package com.example.productservice.service;
+
+import com.example.productservice.domain.Product;
+import com.example.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 짧은 시간(window) 안에 동시에 들어온 상품 목록 조회를 모아 한 번의 findAllById($in) 쿼리로 처리합니다.
+// 여러 요청에 겹치는 ID는 한 번만 조회하고, 각 호출자는 자신이 요청한 상품만 돌려받습니다.
+// 호출자는 timeout 까지만 기다립니다. flusher 가 멈추거나(종료 중) 쿼리가 걸려도 요청 스레드가 무한정 묶이지 않습니다.
+@Component
+@Slf4j
+public class ProductLookupCoalescer {
+
+    private final ProductRepository productRepository;
+    private final Duration window;
+    private final Duration timeout;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flusher;
+
+    // 쿼리 한 번에 조회한 (중복 제거된) ID 수
+    private final DistributionSummary batchSize;
+    // 쿼리 한 번으로 처리한 호출 수
+    private final DistributionSummary batchRequests;
+    // 호출자들이 요청한 ID 수 합계 / 실제 조회한 ID 수. 1 보다 클수록 중복 조회를 많이 줄인 것입니다.
+    private final DistributionSummary coalescingRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private PendingBatch pending; // lock 으로 보호
+
+    public ProductLookupCoalescer(
+            ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${product.lookup.coalesce-window:5ms}") Duration window,
+            @Value("${product.lookup.timeout:3s}") Duration timeout,
+            @Value("${product.lookup.max-batch-size:500}") int maxBatchSize,
+            @Value("${product.lookup.flush-threads:4}") int flushThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.productRepository = productRepository;
+        this.window = window;
+        this.timeout = timeout;
+        this.maxBatchSize = maxBatchSize;
+        // flush-threads 는 동시에 나가는 MongoDB 조회 수의 상한이기도 하므로, 가상 스레드에서도 개수는 그대로 둡니다.
+        this.flusher = Executors.newScheduledThreadPool(flushThreads, virtualThreads
+                ? Thread.ofVirtual().name("product-lookup-", 1).factory()
+                : Thread.ofPlatform().name("product-lookup-", 1).daemon().factory());
+        this.batchSize = DistributionSummary.builder("product.lookup.batch.size")
+                .description("병합된 조회 한 번에 포함된 상품 ID 수")
+                .register(meterRegistry);
+        this.batchRequests = DistributionSummary.builder("product.lookup.batch.requests")
+                .description("병합된 조회 한 번으로 처리한 요청 수")
+                .register(meterRegistry);
+        this.coalescingRatio = DistributionSummary.builder("product.lookup.coalescing.ratio")
+                .description("요청된 상품 ID 수 / 실제 조회한 상품 ID 수")
+                .register(meterRegistry);
+    }
+
+    // 요청한 ID 순서대로(중복 제거) 존재하는 상품만 반환합니다.
+    public List<Product> findAllById(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Lookup lookup = new Lookup(new ArrayList<>(new LinkedHashSet<>(ids)), ids.size());
+        PendingBatch fullBatch = null;
+        lock.lock();
+        try {
+            boolean newBatch = pending == null;
+            if (newBatch) {
+                pending = new PendingBatch();
+            }
+            pending.add(lookup);
+            if (newBatch) {
+                // 새 배치의 첫 요청이 window 뒤의 flush 를 예약합니다.
+                PendingBatch batch = pending;
+                try {
+                    flusher.schedule(() -> flush(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    pending = null;
+                    reject(batch, e);
+                }
+            }
+            // 최대 크기에 도달하면 window 를 기다리지 않고 바로 조회합니다.
+            if (pending != null && pending.distinctIds.size() >= maxBatchSize) {
+                fullBatch = pending;
+                pending = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (fullBatch != null) {
+            PendingBatch batch = fullBatch;
+            try {
+                flusher.execute(() -> flush(batch));
+            } catch (RejectedExecutionException e) {
+                reject(batch, e);
+            }
+        }
+
+        try {
+            return lookup.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("상품 목록 조회에 실패했습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("상품 목록 조회가 " + timeout.toMillis() + "ms 안에 끝나지 않았습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 목록 조회를 기다리는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    // flusher 가 종료되어 작업을 받지 않으면 배치를 기다리는 요청을 바로 실패시킵니다.
+    private void reject(PendingBatch batch, RejectedExecutionException cause) {
+        if (!batch.flushed.compareAndSet(false, true)) {
+            return;
+        }
+        IllegalStateException e = new IllegalStateException("상품 목록 조회를 시작하지 못했습니다. 서버가 종료 중입니다.", cause);
+        batch.lookups.forEach(lookup -> lookup.result.completeExceptionally(e));
+    }
+
+    private void flush(PendingBatch batch) {
+        lock.lock();
+        try {
+            if (pending == batch) {
+                pending = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // 최대 크기로 먼저 flush 된 배치는 예약된 flush 에서 다시 처리하지 않습니다.
+        if (!batch.flushed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            Map<String, Product> productsById = productRepository.findAllById(batch.distinctIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity(), (first, second) -> first));
+            for (Lookup lookup : batch.lookups) {
+                lookup.result.complete(lookup.ids.stream()
+                        .map(productsById::get)
+                        .filter(product -> product != null)
+                        .toList());
+            }
+        } catch (RuntimeException e) {
+            log.error("상품 목록 조회에 실패했습니다. 요청 수: {}, ID 수: {}", batch.lookups.size(), batch.distinctIds.size(), e);
+            batch.lookups.forEach(lookup -> lookup.result.completeExceptionally(e));
+        } finally {
+            batchSize.record(batch.distinctIds.size());
+            batchRequests.record(batch.lookups.size());
+            coalescingRatio.record((double) batch.requestedIdCount / batch.distinctIds.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+
+    private record Lookup(List<String> ids, int requestedIdCount, CompletableFuture<List<Product>> result) {
+        Lookup(List<String> ids, int requestedIdCount) {
+            this(ids, requestedIdCount, new CompletableFuture<>());
+        }
+    }
+
+    private static class PendingBatch {
+        private final List<Lookup> lookups = new ArrayList<>();
+        private final Set<String> distinctIds = new LinkedHashSet<>();
+        private final AtomicBoolean flushed = new AtomicBoolean();
+        private int requestedIdCount;
+
+        private void add(Lookup lookup) {
+            lookups.add(lookup);
+            distinctIds.addAll(lookup.ids());
+            requestedIdCount += lookup.requestedIdCount();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.productservice.service;
 
 import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import com.example.productservice.cache.ProductCache;
 import com.example.productservice.domain.Product;
 import com.example.productservice.dto.request.ProductRegistrationRequestDto;
 import com.example.productservice.dto.response.ProductResponseDto;
@@ -16,6 +18,8 @@ import java.util.List;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductLookupCoalescer productLookupCoalescer;
+    private final ProductCache productCache;
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -30,7 +34,11 @@ public class ProductServiceImpl implements ProductService {
         Product savedProduct =  productRepository.save(product);
 
         ProductCreatedEvent event = new ProductCreatedEvent(savedProduct.getId(),savedProduct.getStock());
-        kafkaTemplate.send("product-created", event);
+        // 같은 상품의 이벤트가 같은 파티션으로 가도록 productId 를 키로 사용합니다.
+        kafkaTemplate.send("product-created", event.productId(), event);
+
+        // 등록 직후 조회가 MongoDB 로 가지 않도록 캐시에 바로 넣습니다.
+        productCache.put(ProductResponseDto.fromEntity(savedProduct));
 
         return savedProduct;
     }
@@ -38,22 +46,22 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public void deleteProduct(String productId){
         productRepository.deleteById(productId);
-        kafkaTemplate.send("product-deleted",productId);
+        productCache.evict(productId);
+        kafkaTemplate.send("product-deleted", productId, new ProductDeletedEvent(productId));
     }
 
     @Override
     public ProductResponseDto findProductById(String productId) {
-        // Repository의 내장 메서드인 findById 사용
-        Product product = productRepository.findById(productId)
+        // 캐시에 없을 때만 Repository의 내장 메서드인 findById 사용
+        return productCache.get(productId, id -> productRepository.findById(id).map(ProductResponseDto::fromEntity))
                 .orElseThrow(() -> new IllegalArgumentException("해당 ID의 상품을 찾을 수 없습니다: " + productId));
-        return ProductResponseDto.fromEntity(product);
     }
 
     @Override
 
     public List<ProductResponseDto> findProductsByIds(List<String> ids) { // ID 타입을 String으로 수정
-        // Repository의 내장 메서드인 findAllById 사용
-        List<Product> products = productRepository.findAllById(ids);
+        // 동시에 들어온 다른 조회와 합쳐 한 번의 findAllById 로 조회하고, 이 요청의 상품만 돌려받습니다.
+        List<Product> products = productLookupCoalescer.findAllById(ids);
         return products.stream()
                 .map(ProductResponseDto::fromEntity)
                 .toList();
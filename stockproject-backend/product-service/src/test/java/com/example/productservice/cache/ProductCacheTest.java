@@ -0,0 +1,179 @@
+package com.example.productservice.cache;
+
+import com.example.productservice.dto.response.ProductResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+    @Mock
+    private RemoteProductCache remoteCache;
+
+    private final ProductResponseDto product = new ProductResponseDto("product-id-101", "테스트 상품", 10000L);
+
+    private ProductCache localOnlyCache() {
+        return new ProductCache((RemoteProductCache) null, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("상품 캐시: 한 번 조회한 상품은 다시 MongoDB 를 조회하지 않는다.")
+    void get_CachesLoadedProduct() {
+        // given
+        ProductCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, Optional<ProductResponseDto>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(product);
+        };
+
+        // when
+        cache.get("product-id-101", loader);
+        Optional<ProductResponseDto> cached = cache.get("product-id-101", loader);
+
+        // then
+        assertThat(cached).contains(product);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("상품 캐시: 존재하지 않는 ID도 캐시해서 반복 조회가 MongoDB 로 가지 않는다.")
+    void get_CachesMissingProduct() {
+        // given
+        ProductCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, Optional<ProductResponseDto>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // when
+        cache.get("unknown-id", loader);
+        Optional<ProductResponseDto> cached = cache.get("unknown-id", loader);
+
+        // then
+        assertThat(cached).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("상품 캐시: 캐시가 비어 있을 때 동시에 들어온 조회는 MongoDB 를 한 번만 조회한다.")
+    void get_LoadsOnceUnderConcurrentMisses() throws Exception {
+        // given
+        ProductCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Function<String, Optional<ProductResponseDto>> slowLoader = id -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(product);
+        };
+
+        // when
+        List<Future<Optional<ProductResponseDto>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("product-id-101", slowLoader);
+            }));
+        }
+        start.countDown();
+
+        // then
+        for (Future<Optional<ProductResponseDto>> result : results) {
+            assertThat(result.get()).contains(product);
+        }
+        assertThat(loads).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("상품 캐시: 등록 시 넣은 상품은 조회 없이 반환하고, 삭제 후에는 다시 조회한다.")
+    void putAndEvict() {
+        // given
+        ProductCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, Optional<ProductResponseDto>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // when
+        cache.put(product);
+        Optional<ProductResponseDto> afterPut = cache.get("product-id-101", loader);
+        cache.evict("product-id-101");
+        Optional<ProductResponseDto> afterEvict = cache.get("product-id-101", loader);
+
+        // then
+        assertThat(afterPut).contains(product);
+        assertThat(afterEvict).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("상품 캐시(Redis): 로컬에 없으면 Redis 를 먼저 보고, Redis 에도 없으면 조회 결과를 Redis 에 채운다.")
+    void get_UsesRemoteTier() {
+        // given
+        ProductCache cache = new ProductCache(remoteCache, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        when(remoteCache.get("product-id-101")).thenReturn(new CachedProduct(product));
+        when(remoteCache.get("product-id-102")).thenReturn(null);
+        ProductResponseDto product2 = new ProductResponseDto("product-id-102", "테스트 상품 2", 20000L);
+
+        // when
+        Optional<ProductResponseDto> fromRemote = cache.get("product-id-101", id -> {
+            throw new AssertionError("Redis 에 있는 상품은 MongoDB 를 조회하지 않아야 합니다.");
+        });
+        Optional<ProductResponseDto> fromLoader = cache.get("product-id-102", id -> Optional.of(product2));
+        cache.evict("product-id-101");
+
+        // then
+        assertThat(fromRemote).contains(product);
+        assertThat(fromLoader).contains(product2);
+        verify(remoteCache).putIfAbsent("product-id-102", new CachedProduct(product2));
+        verify(remoteCache).evict("product-id-101");
+    }
+
+    @Test
+    @DisplayName("상품 캐시(Redis): 조회 중에 evict 되면 조회 결과로 evict 가 남긴 삭제 표시를 덮어쓰지 않는다.")
+    void get_EvictDuringLoad_DoesNotOverwriteTombstone() {
+        // given
+        ProductCache cache = new ProductCache(remoteCache, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        when(remoteCache.get("product-id-101")).thenReturn(null);
+
+        // when : MongoDB 에서 이전 값을 읽은 직후 다른 요청이 상품을 삭제합니다.
+        cache.get("product-id-101", id -> {
+            cache.evict(id);
+            return Optional.of(product);
+        });
+
+        // then
+        InOrder inOrder = inOrder(remoteCache);
+        inOrder.verify(remoteCache).evict("product-id-101");
+        inOrder.verify(remoteCache).putIfAbsent("product-id-101", new CachedProduct(product));
+        verify(remoteCache, never()).put(anyString(), any());
+    }
+}
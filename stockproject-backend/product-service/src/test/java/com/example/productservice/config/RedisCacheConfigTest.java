@@ -0,0 +1,36 @@
+package com.example.productservice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCacheConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RedisCacheConfig.class);
+
+    @Test
+    @DisplayName("Redis 설정: 공유 캐시가 꺼져 있으면 Redis 연결과 헬스 체크를 등록하지 않는다.")
+    void redisDisabled_NoConnectionOrHealthIndicator() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(RedisConnectionFactory.class);
+            assertThat(context).doesNotHaveBean("redisHealthContributor");
+        });
+        contextRunner.withPropertyValues("product.cache.redis.enabled=false").run(context ->
+                assertThat(context).doesNotHaveBean(RedisConnectionFactory.class));
+    }
+
+    @Test
+    @DisplayName("Redis 설정: 공유 캐시가 켜져 있으면 Redis 연결, 템플릿과 헬스 체크를 등록한다.")
+    void redisEnabled_RegistersConnectionAndHealthIndicator() {
+        contextRunner.withPropertyValues("product.cache.redis.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(RedisConnectionFactory.class);
+            assertThat(context).hasSingleBean(StringRedisTemplate.class);
+            assertThat(context).hasBean("redisHealthContributor");
+        });
+    }
+}
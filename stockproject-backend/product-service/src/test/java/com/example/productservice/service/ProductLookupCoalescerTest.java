@@ -0,0 +1,167 @@
+package com.example.productservice.service;
+
+import com.example.productservice.domain.Product;
+import com.example.productservice.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductLookupCoalescerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductLookupCoalescer coalescer;
+    private ExecutorService callers;
+
+    private final Product product1 = product("product-id-101");
+    private final Product product2 = product("product-id-102");
+    private final Product product3 = product("product-id-103");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        coalescer.shutdown();
+    }
+
+    private static Product product(String id) {
+        return Product.builder().id(id).name("테스트 상품").price(10000L).stock(100).build();
+    }
+
+    @Test
+    @DisplayName("병합 조회: window 안에 동시에 들어온 요청은 중복 없는 한 번의 쿼리로 처리하고, 각자 요청한 상품만 받는다.")
+    @SuppressWarnings("unchecked")
+    void findAllById_CoalescesConcurrentLookups() throws Exception {
+        // given
+        coalescer = new ProductLookupCoalescer(productRepository, meterRegistry, Duration.ofMillis(200), Duration.ofSeconds(5), 500, 1, false);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2, product3));
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<List<String>> requests = List.of(
+                List.of("product-id-101", "product-id-102"),
+                List.of("product-id-102", "product-id-103"),
+                List.of("product-id-103", "product-id-999"));
+        List<Future<List<Product>>> results = new ArrayList<>();
+        for (List<String> ids : requests) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return coalescer.findAllById(ids);
+            }));
+        }
+        start.countDown();
+
+        // then
+        assertThat(results.get(0).get()).containsExactly(product1, product2);
+        assertThat(results.get(1).get()).containsExactly(product2, product3);
+        assertThat(results.get(2).get()).containsExactly(product3);
+
+        ArgumentCaptor<Iterable<String>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository, times(1)).findAllById(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder("product-id-101", "product-id-102", "product-id-103", "product-id-999");
+
+        assertThat(meterRegistry.get("product.lookup.batch.requests").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("product.lookup.batch.size").summary().totalAmount()).isEqualTo(4);
+        assertThat(meterRegistry.get("product.lookup.coalescing.ratio").summary().max()).isEqualTo(6.0 / 4);
+    }
+
+    @Test
+    @DisplayName("병합 조회: 배치가 최대 크기에 도달하면 window 를 기다리지 않고 바로 조회한다.")
+    void findAllById_FlushesWhenBatchIsFull() {
+        // given
+        coalescer = new ProductLookupCoalescer(productRepository, meterRegistry, Duration.ofSeconds(30), Duration.ofSeconds(5), 2, 1, false);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
+
+        // when
+        List<Product> products = coalescer.findAllById(List.of("product-id-101", "product-id-102", "product-id-101"));
+
+        // then
+        assertThat(products).containsExactly(product1, product2);
+        assertThat(meterRegistry.get("product.lookup.coalescing.ratio").summary().max()).isEqualTo(3.0 / 2);
+    }
+
+    @Test
+    @DisplayName("병합 조회: 실패 - 쿼리가 실패하면 배치에 포함된 모든 요청에 예외가 전달된다.")
+    void findAllById_PropagatesFailure() {
+        // given
+        coalescer = new ProductLookupCoalescer(productRepository, meterRegistry, Duration.ofMillis(1), Duration.ofSeconds(5), 500, 1, false);
+        when(productRepository.findAllById(any())).thenThrow(new IllegalStateException("MongoDB 연결 실패"));
+
+        // when & then
+        assertThatThrownBy(() -> coalescer.findAllById(List.of("product-id-101")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MongoDB 연결 실패");
+    }
+
+    @Test
+    @DisplayName("병합 조회: 빈 ID 목록은 쿼리 없이 빈 목록을 반환한다.")
+    void findAllById_EmptyIds() {
+        // given
+        coalescer = new ProductLookupCoalescer(productRepository, meterRegistry, Duration.ofMillis(1), Duration.ofSeconds(5), 500, 1, false);
+
+        // when & then
+        assertThat(coalescer.findAllById(List.of())).isEmpty();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("병합 조회: 실패 - 쿼리가 timeout 안에 끝나지 않으면 기다리지 않고 예외가 발생한다.")
+    void findAllById_TimesOut() {
+        // given
+        coalescer = new ProductLookupCoalescer(productRepository, meterRegistry, Duration.ofMillis(1), Duration.ofMillis(50), 500, 1, false);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findAllById(any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(product1);
+        });
+
+        // when & then
+        assertThatThrownBy(() -> coalescer.findAllById(List.of("product-id-101")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("50ms");
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("병합 조회: 실패 - 종료된 뒤 들어온 요청은 조회를 예약하지 못하고 바로 예외가 발생한다.")
+    void findAllById_AfterShutdown() {
+        // given
+        coalescer = new ProductLookupCoalescer(productRepository, meterRegistry, Duration.ofMillis(1), Duration.ofSeconds(5), 500, 1, false);
+        coalescer.shutdown();
+
+        // when & then
+        assertThatThrownBy(() -> coalescer.findAllById(List.of("product-id-101")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("상품 목록 조회를 시작하지 못했습니다.")
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        verifyNoInteractions(productRepository);
+    }
+}
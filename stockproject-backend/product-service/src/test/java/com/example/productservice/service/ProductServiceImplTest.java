@@ -1,6 +1,8 @@
 package com.example.productservice.service;
 
 import com.example.dto.ProductCreatedEvent;
+import com.example.dto.ProductDeletedEvent;
+import com.example.productservice.cache.ProductCache;
 import com.example.productservice.domain.Product;
 import com.example.productservice.dto.request.ProductRegistrationRequestDto;
 import com.example.productservice.dto.response.ProductResponseDto;
@@ -17,6 +19,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,11 +36,24 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductLookupCoalescer productLookupCoalescer;
+
+    @Mock
+    private ProductCache productCache;
+
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    // 캐시 미스 상황: 캐시는 전달받은 loader(MongoDB 조회)를 그대로 실행합니다.
+    @SuppressWarnings("unchecked")
+    private void givenCacheMiss(String productId) {
+        when(productCache.get(eq(productId), any())).thenAnswer(invocation ->
+                invocation.<Function<String, Optional<ProductResponseDto>>>getArgument(1).apply(productId));
+    }
+
     @Test
-    @DisplayName("상품 등록: 성공 - 상품을 성공적으로 등록하고 Kafka 이벤트를 발행한다.")
+    @DisplayName("상품 등록: 성공 - 상품을 성공적으로 등록하고 Kafka 이벤트를 발행한 뒤 캐시에 넣는다.")
     void registerProduct_Success() {
         // given
         String productName = "테스트 상품";
@@ -66,15 +82,16 @@ class ProductServiceImplTest {
         
         // Verify Kafka event was sent
         ArgumentCaptor<ProductCreatedEvent> eventCaptor = ArgumentCaptor.forClass(ProductCreatedEvent.class);
-        verify(kafkaTemplate).send(eq("product-created"), eventCaptor.capture());
+        verify(kafkaTemplate).send(eq("product-created"), eq(savedProduct.getId()), eventCaptor.capture());
         
         ProductCreatedEvent capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.productId()).isEqualTo("product-id-101");
         assertThat(capturedEvent.initialStock()).isEqualTo(initialStock);
+        verify(productCache).put(new ProductResponseDto("product-id-101", productName, price));
     }
 
     @Test
-    @DisplayName("상품 삭제: 성공 - 상품을 성공적으로 삭제하고 Kafka 이벤트를 발행한다.")
+    @DisplayName("상품 삭제: 성공 - 상품을 성공적으로 삭제하고 Kafka 이벤트를 발행한 뒤 캐시에서 제거한다.")
     void deleteProduct_Success() {
         // given
         String productId = "product-id-101";
@@ -85,7 +102,8 @@ class ProductServiceImplTest {
         
         // then
         verify(productRepository).deleteById(productId);
-        verify(kafkaTemplate).send(eq("product-deleted"), eq(productId));
+        verify(kafkaTemplate).send(eq("product-deleted"), eq(productId), eq(new ProductDeletedEvent(productId)));
+        verify(productCache).evict(productId);
     }
 
     @Test
@@ -100,6 +118,7 @@ class ProductServiceImplTest {
                 .stock(100)
                 .build();
         
+        givenCacheMiss(productId);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
         
         // when
@@ -117,6 +136,7 @@ class ProductServiceImplTest {
     void findProductById_Fail_ProductNotFound() {
         // given
         String nonExistingProductId = "non-existing-product-id";
+        givenCacheMiss(nonExistingProductId);
         when(productRepository.findById(nonExistingProductId)).thenReturn(Optional.empty());
         
         // when & then
@@ -145,7 +165,7 @@ class ProductServiceImplTest {
                 .stock(200)
                 .build();
         
-        when(productRepository.findAllById(productIds)).thenReturn(Arrays.asList(product1, product2));
+        when(productLookupCoalescer.findAllById(productIds)).thenReturn(Arrays.asList(product1, product2));
         
         // when
         List<ProductResponseDto> results = productService.findProductsByIds(productIds);
@@ -174,7 +194,7 @@ class ProductServiceImplTest {
                 .stock(100)
                 .build();
         
-        when(productRepository.findAllById(productIds)).thenReturn(Arrays.asList(product1));
+        when(productLookupCoalescer.findAllById(productIds)).thenReturn(Arrays.asList(product1));
         
         // when
         List<ProductResponseDto> results = productService.findProductsByIds(productIds);
@@ -191,7 +211,7 @@ class ProductServiceImplTest {
     void findProductsByIds_EmptyList() {
         // given
         List<String> emptyProductIds = Arrays.asList();
-        when(productRepository.findAllById(emptyProductIds)).thenReturn(Arrays.asList());
+        when(productLookupCoalescer.findAllById(emptyProductIds)).thenReturn(Arrays.asList());
         
         // when
         List<ProductResponseDto> results = productService.findProductsByIds(emptyProductIds);
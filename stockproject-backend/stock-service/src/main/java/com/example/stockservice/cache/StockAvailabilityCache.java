@@ -0,0 +1,41 @@
+package com.example.stockservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+// 재고 조회 API 용 인스턴스 로컬 near-cache (productId -> 판매 가능 수량).
+// 이 인스턴스가 재고를 바꾸면(StockServiceImpl) 해당 상품을 바로 제거하고,
+// 다른 인스턴스가 바꾼 재고는 짧은 TTL 만큼만 늦게 보입니다.
+// 조회 결과는 주문 전 사전 확인용이며, 실제 차감 가능 여부는 재고 스크립트가 판단합니다.
+@Component
+public class StockAvailabilityCache {
+
+    private final Cache<String, Long> cache;
+
+    public StockAvailabilityCache(
+            @Value("${stock.near-cache.maximum-size:10000}") long maximumSize,
+            @Value("${stock.near-cache.ttl:500ms}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Map<String, Long> getAllPresent(Collection<String> productIds) {
+        return cache.getAllPresent(productIds);
+    }
+
+    public void putAll(Map<String, Long> quantities) {
+        cache.putAll(quantities);
+    }
+
+    public void evictAll(Collection<String> productIds) {
+        cache.invalidateAll(productIds);
+    }
+}
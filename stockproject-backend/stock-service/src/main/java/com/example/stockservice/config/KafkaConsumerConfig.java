@@ -0,0 +1,130 @@
+package com.example.stockservice.config;
+
+import com.example.dto.codec.EventSerializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// ⭐️ concurrency : 리스너마다 띄울 컨슈머 스레드 수. 파티션은 스레드들에 나뉘어 병렬로 처리되고,
+//    한 파티션은 항상 한 스레드가 순서대로 처리합니다. 재고를 바꾸는 주문 이벤트는 모두 order-stock-events 한 토픽에
+//    주문의 키 상품(Order.stockRoutingKey)으로 발행되므로, 한 주문의 생성/취소/결제와 키 상품이 같은 주문들의 순서는 유지됩니다.
+//    여러 상품이 담긴 주문의 나머지 상품은 파티션이 달라 순서가 보장되지 않습니다. 이것은 파티션이 여러 개인 한
+//    concurrency 를 1 로 두어도 마찬가지입니다. 토픽 파티션 수보다 크게 잡으면 남는 스레드는 놀게 됩니다.
+// ⭐️ 리스너가 예외를 던지면 kafkaErrorHandler 가 같은 레코드(배치 리스너는 배치 전체)를 backoff 하며 다시 처리하고,
+//    재시도가 끝나도 실패하면 {토픽}.DLT 로 보낸 뒤 다음 레코드로 넘어갑니다. 재전달되어도 재고에는 처리 기록(stock-ledger)으로 한 번만 반영됩니다.
+@Configuration
+public class KafkaConsumerConfig {
+
+    private final int concurrency;
+    private final StockPipelineMetrics pipelineMetrics;
+
+    public KafkaConsumerConfig(
+            @Value("${stock.consumer.concurrency:3}") int concurrency,
+            StockPipelineMetrics pipelineMetrics) {
+        this.concurrency = concurrency;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    // 기본 컨테이너 팩토리. 메시지를 common-dto 이벤트 타입으로 역직렬화해서 리스너에 전달합니다.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            DefaultErrorHandler errorHandler) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, eventConsumerFactory(eventConsumerProps(consumerFactory)));
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(errorHandler);
+        factory.setRecordInterceptor(new PipelineTraceInterceptor(pipelineMetrics));
+        return factory;
+    }
+
+    // 배치 리스너 전용 컨테이너 팩토리. 기본 컨슈머 설정에 배치 크기와 대기 시간만 덮어씁니다.
+    // max-records : 한 번의 poll 로 가져올 최대 레코드 수 (= 한 번의 Redis 왕복으로 처리할 최대 주문 수)
+    // linger-ms   : min-bytes 가 찰 때까지 브로커가 응답을 미루는 최대 시간
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${stock.consumer.batch.max-records:500}") int maxRecords,
+            @Value("${stock.consumer.batch.linger-ms:50}") int lingerMs,
+            @Value("${stock.consumer.batch.min-bytes:16384}") int minBytes,
+            DefaultErrorHandler errorHandler) {
+        Map<String, Object> props = eventConsumerProps(consumerFactory);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxRecords);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, lingerMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, minBytes);
+
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, eventConsumerFactory(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(errorHandler);
+        factory.setBatchInterceptor(new PipelineTraceInterceptor(pipelineMetrics));
+        return factory;
+    }
+
+    // 처리하지 못한 레코드의 재시도와 dead letter 발행.
+    // - Redis 장애처럼 일시적인 실패는 interval-ms 부터 두 배씩(max-interval-ms 까지) 늘려 가며 max-retries 번 다시 처리합니다.
+    // - 재고 정보 없음/재고 부족(IllegalArgumentException)과 역직렬화 실패는 다시 해도 같은 결과이므로 바로 dead letter 로 보냅니다.
+    // 파티션은 키로 다시 정하므로 DLT 의 파티션 수가 원래 토픽과 달라도 됩니다.
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(
+            KafkaTemplate<Object, Object> deadLetterKafkaTemplate,
+            @Value("${stock.consumer.retry.interval-ms:500}") long intervalMs,
+            @Value("${stock.consumer.retry.max-interval-ms:10000}") long maxIntervalMs,
+            @Value("${stock.consumer.retry.max-retries:6}") int maxRetries) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate,
+                (record, e) -> new TopicPartition(record.topic() + ".DLT", -1));
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(intervalMs);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(maxIntervalMs);
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        errorHandler.addNotRetryableExceptions(IllegalArgumentException.class);
+        return errorHandler;
+    }
+
+    // dead letter 발행용 템플릿. 리스너가 받은 이벤트는 EventCodec 으로 다시 인코딩하고,
+    // 역직렬화에 실패한 레코드는 원래 바이트(byte[])를 그대로 보냅니다.
+    @Bean
+    public KafkaTemplate<Object, Object> deadLetterKafkaTemplate(ProducerFactory<Object, Object> producerFactory) {
+        Map<String, Object> props = new HashMap<>(producerFactory.getConfigurationProperties());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    private Map<String, Object> eventConsumerProps(ConsumerFactory<Object, Object> consumerFactory) {
+        Map<String, Object> props = new HashMap<>(consumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return props;
+    }
+
+    // 바이너리 이벤트(이전 JSON 포함)를 읽는 컨슈머 팩토리. 역직렬화에 실패한 레코드는 ErrorHandlingDeserializer 가 걸러냅니다.
+    // 역직렬화 시간을 기록하도록 value deserializer 는 직접 만들어 넣습니다. (컨슈머마다 새 인스턴스)
+    private DefaultKafkaConsumerFactory<Object, Object> eventConsumerFactory(Map<String, Object> props) {
+        DefaultKafkaConsumerFactory<Object, Object> factory = new DefaultKafkaConsumerFactory<>(props);
+        factory.setValueDeserializerSupplier(() -> new ErrorHandlingDeserializer<>(new TimedEventDeserializer(pipelineMetrics)));
+        return factory;
+    }
+}
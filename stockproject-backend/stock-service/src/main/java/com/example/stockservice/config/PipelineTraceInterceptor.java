@@ -0,0 +1,83 @@
+package com.example.stockservice.config;
+
+import com.example.dto.trace.TraceContext;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.MDC;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// 리스너 앞뒤에서 order-service 가 보낸 추적 헤더(TraceContext)를 읽습니다.
+// - 리스너 호출 전 : 대기 시간(queue)을 기록하고, 단건 리스너는 traceId 를 MDC 에 넣어 로그에 남깁니다.
+// - 리스너 호출 후 : outbox 기록부터 처리 완료까지(end-to-end)를 기록합니다. 처리에 실패한 레코드도 기록됩니다.
+// 추적 헤더가 없는 레코드(상품 이벤트 등)는 주문 파이프라인이 아니므로 기록하지 않습니다.
+class PipelineTraceInterceptor implements RecordInterceptor<Object, Object>, BatchInterceptor<Object, Object> {
+
+    static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private final StockPipelineMetrics pipelineMetrics;
+
+    PipelineTraceInterceptor(StockPipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        received(record);
+        String traceId = TraceContext.traceId(header(record, TraceContext.TRACEPARENT_HEADER));
+        if (traceId != null) {
+            MDC.put(TRACE_ID_MDC_KEY, traceId);
+        }
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        processed(record);
+        MDC.remove(TRACE_ID_MDC_KEY);
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        records.forEach(this::received);
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        records.forEach(this::processed);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<Object, Object> records, Exception exception, Consumer<Object, Object> consumer) {
+        records.forEach(this::processed);
+    }
+
+    private void received(ConsumerRecord<?, ?> record) {
+        if (header(record, TraceContext.CREATED_AT_HEADER) != null) {
+            pipelineMetrics.recordQueue(record.topic(), Duration.ofMillis(System.currentTimeMillis() - record.timestamp()));
+        }
+    }
+
+    private void processed(ConsumerRecord<?, ?> record) {
+        String createdAt = header(record, TraceContext.CREATED_AT_HEADER);
+        if (createdAt == null) {
+            return;
+        }
+        try {
+            pipelineMetrics.recordEndToEnd(record.topic(), Duration.ofMillis(System.currentTimeMillis() - Long.parseLong(createdAt)));
+        } catch (NumberFormatException e) {
+            // 지표용 헤더이므로 형식이 잘못되어도 처리에는 영향을 주지 않습니다.
+        }
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.stockservice.config;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+
+// ⭐️ Redis 연결 설정. 접속 정보와 풀 크기는 config 서버의 spring.data.redis.* 를 그대로 사용합니다.
+// - 커넥션 풀 : commons-pool2 가 있으면 spring.data.redis.lettuce.pool.* 로 풀이 켜집니다.
+//              일반 명령은 공유 커넥션 하나로 보내고, 파이프라인처럼 커넥션을 혼자 써야 하는 작업만 풀에서 빌립니다.
+//              (max-active 는 파이프라인을 동시에 실행하는 스레드 수 = 컨슈머 concurrency + 조회 API 동시 요청 수에 맞춥니다)
+// - 파이프라인 : executePipelined 로 묶은 명령을 flush-threshold 개마다 한 번에 전송합니다. 0 이면 명령마다 전송(Spring 기본값)
+// - 지표      : lettuce.command.completion / lettuce.command.firstresponse (명령 종류별 지연 시간, 퍼센타일 포함)
+@Configuration
+public class RedisConfig {
+
+    // LettuceConnectionFactory 는 Spring Boot 가 만들므로, 만들어진 뒤에 파이프라인 전송 방식만 바꿉니다.
+    @Bean
+    static BeanPostProcessor lettucePipeliningFlushPolicy(
+            @Value("${stock.redis.pipeline.flush-threshold:128}") int flushThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory connectionFactory && flushThreshold > 0) {
+                    connectionFactory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.buffered(flushThreshold));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Spring Boot 기본값(히스토그램 없음) 대신 퍼센타일을 함께 기록합니다.
+    @Bean
+    public MicrometerOptions micrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .targetPercentiles(new double[]{0.5, 0.99, 0.999})
+                .minLatency(Duration.ofNanos(100_000))
+                .maxLatency(Duration.ofSeconds(5))
+                .build();
+    }
+}
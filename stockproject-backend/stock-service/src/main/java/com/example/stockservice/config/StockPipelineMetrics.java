@@ -0,0 +1,75 @@
+package com.example.stockservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// 주문 이벤트가 Kafka 에서 Redis 까지 가는 단계별 소요 시간. order-service 의 OrderPipelineMetrics 에서 이어집니다.
+// /actuator/metrics/stock.pipeline?tag=stage:queue&tag=topic:order-created 처럼 조회합니다.
+// - queue       : 프로듀서가 보낸 시각(레코드 timestamp)부터 리스너가 받기까지. 컨슈머 lag 가 쌓이면 여기서 늘어납니다.
+// - deserialize : 메시지 한 건을 이벤트로 역직렬화하는 시간
+// - redis-apply : 재고 변경 스크립트 실행 (배치 리스너는 poll 한 번의 배치 전체)
+// - end-to-end  : order-service 가 outbox 에 기록한 시각부터 리스너 처리가 끝날 때까지 (서버 간 시계 차이만큼 오차가 있습니다)
+// 예약이 풀린 뒤 도착한 결제 확정은 stock.confirm.late{result=reclaimed|failed} 로 셉니다. failed 는 결제된 주문의 재고가 빠지지 않은 상태라 알림 대상입니다.
+@Component
+public class StockPipelineMetrics {
+
+    public static final String TIMER_NAME = "stock.pipeline";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StockPipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordQueue(String topic, Duration duration) {
+        timer("queue", topic).record(positive(duration));
+    }
+
+    public void recordDeserialize(String topic, long nanos) {
+        timer("deserialize", topic).record(Duration.ofNanos(nanos));
+    }
+
+    public void recordEndToEnd(String topic, Duration duration) {
+        timer("end-to-end", topic).record(positive(duration));
+    }
+
+    // result : reclaimed (재고를 다시 차감해 확정), failed (재고 부족 등으로 다시 차감하지 못함)
+    public void recordLateConfirm(String result) {
+        Counter.builder("stock.confirm.late")
+                .description("재고 예약이 풀린 뒤 도착한 결제 확정 수")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // topic 은 재고 변경을 일으킨 이벤트 종류. 한 토픽으로 합치기 전의 토픽 이름(order-created 등)을 그대로 씁니다. 배치는 "batch"
+    public <T> T timeRedisApply(String topic, Supplier<T> apply) {
+        return timer("redis-apply", topic).record(apply);
+    }
+
+    // 토픽 수가 적어서 (stage, topic) 조합마다 한 번만 만들어 둡니다.
+    private Timer timer(String stage, String topic) {
+        return timers.computeIfAbsent(stage + ":" + topic, key -> Timer.builder(TIMER_NAME)
+                .description("주문 이벤트 처리 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    // 시계 차이로 음수가 나오면 0 으로 기록합니다.
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
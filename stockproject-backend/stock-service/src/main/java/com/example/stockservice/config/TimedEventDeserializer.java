@@ -0,0 +1,31 @@
+package com.example.stockservice.config;
+
+import com.example.dto.codec.EventDeserializer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+// EventDeserializer 의 역직렬화 시간을 StockPipelineMetrics 에 기록합니다. 실패한 경우도 기록한 뒤 예외를 그대로 던집니다.
+class TimedEventDeserializer implements Deserializer<Object> {
+
+    private final EventDeserializer delegate = new EventDeserializer();
+    private final StockPipelineMetrics pipelineMetrics;
+
+    TimedEventDeserializer(StockPipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deserialize(topic, data);
+        } finally {
+            pipelineMetrics.recordDeserialize(topic, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        return deserialize(topic, data);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.stockservice.consumer;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderPaidEvent;
+import com.example.stockservice.repository.StockMutation;
+import com.example.stockservice.repository.StockMutationResult;
+import com.example.stockservice.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// stock.consumer.batch.enabled=true 일 때 OrderConsumer 대신 사용되는 배치 리스너
+// poll 한 번에 받은 주문 생성/취소/결제 이벤트를 모아 Redis 왕복 한 번으로 재고에 반영합니다.
+// 배치 안의 변경은 받은 순서대로 적용하므로, 같은 파티션에 들어온 한 주문의 이벤트 순서가 유지됩니다.
+// 이전 토픽은 OrderConsumer 와 같은 이유로 함께 구독합니다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "stock.consumer.batch.enabled", havingValue = "true")
+public class OrderBatchConsumer {
+
+    private final StockService stockService;
+
+    @KafkaListener(
+            topics = {"order-stock-events", "order-created", "order-cancelled", "order-paid"},
+            groupId = "stock-service-group",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void listenOrderEvents(List<ConsumerRecord<String, Object>> records) {
+        log.info("Received {} order messages", records.size());
+
+        // 1. 레코드를 재고 변경으로 바꿉니다. 역직렬화에 실패한 레코드(value 가 null)는 건너뛰고 나머지는 계속 처리합니다.
+        List<StockMutation> mutations = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, Object>> sources = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            StockMutation mutation = toMutation(record.value());
+            if (mutation == null) {
+                log.error("메시지 역직렬화에 실패했습니다. topic: {}, offset: {}", record.topic(), record.offset());
+                continue;
+            }
+            mutations.add(mutation);
+            sources.add(record);
+        }
+
+        // 2. 배치 전체를 한 번에 적용합니다. Redis 장애 등으로 예외가 나면 배치 전체가 재전달됩니다.
+        List<StockMutationResult> results = stockService.applyInBatch(mutations);
+
+        // 3. 주문 단위 실패(재고 부족 등)는 해당 주문만 로그로 남기고 오프셋은 정상 커밋됩니다.
+        //    재전달되어 이미 반영된 주문(DUPLICATE)은 실패가 아닙니다.
+        //    결제 확정만은 단건 리스너와 같은 기준(StockService.checkConfirmed)으로 실패한 레코드를 에러 핸들러에 넘깁니다.
+        //    에러 핸들러는 그 앞까지의 오프셋을 커밋하고 그 레코드부터 다시 처리합니다. 이미 반영된 뒤쪽 주문은 DUPLICATE 로 건너뜁니다.
+        for (int i = 0; i < results.size(); i++) {
+            StockMutationResult result = results.get(i);
+            StockMutation mutation = mutations.get(i);
+            if (mutation.type() == StockMutation.Type.CONFIRM) {
+                checkConfirmed(mutation, result, sources.get(i));
+            } else if (result.status() == StockMutationResult.Status.DUPLICATE) {
+                log.info("이미 반영된 주문 이벤트를 건너뜁니다. OrderId: {}, type: {}", mutation.orderId(), mutation.type());
+            } else if (result.status() == StockMutationResult.Status.NOT_RESERVED && mutation.type() == StockMutation.Type.INCREASE) {
+                log.info("재고 예약이 없어 재고를 복구하지 않습니다. OrderId: {}", mutation.orderId());
+            } else if (!result.isSuccess()) {
+                log.error("재고 변경에 실패했습니다. OrderId: {}, type: {}, status: {}, productId: {}",
+                        mutation.orderId(), mutation.type(), result.status(), result.productId());
+            }
+        }
+    }
+
+    private void checkConfirmed(StockMutation mutation, StockMutationResult result, ConsumerRecord<String, Object> record) {
+        try {
+            stockService.checkConfirmed(mutation, result);
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException(e.getMessage(), e, record);
+        }
+    }
+
+    private StockMutation toMutation(Object value) {
+        if (value instanceof OrderCreatedEvent event) {
+            return StockMutation.decrease(event);
+        }
+        if (value instanceof OrderCancelledEvent event) {
+            return StockMutation.increase(event);
+        }
+        if (value instanceof OrderPaidEvent event) {
+            return StockMutation.confirm(event);
+        }
+        return null;
+    }
+}
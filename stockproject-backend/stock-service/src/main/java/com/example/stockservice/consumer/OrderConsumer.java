@@ -2,48 +2,46 @@ package com.example.stockservice.consumer;
 
 import com.example.dto.OrderCancelledEvent;
 import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderPaidEvent;
 import com.example.stockservice.service.StockService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+// 메시지는 컨테이너 팩토리의 EventDeserializer 가 이벤트 타입으로 변환해서 전달하고, 타입에 맞는 @KafkaHandler 가 받습니다.
+// ⭐️ 주문 생성/취소/결제는 order-stock-events 한 토픽으로 들어오므로, 같은 주문의 이벤트는 한 파티션에서 발행 순서대로 처리됩니다.
+//    이전 토픽(order-created, order-cancelled, order-paid)은 배포 전에 쌓인 메시지를 마저 처리하려고 구독합니다. 비워진 뒤 제거합니다.
 @Component
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "stock.consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
+@KafkaListener(
+        topics = {"order-stock-events", "order-created", "order-cancelled", "order-paid"},
+        groupId = "stock-service-group")
 public class OrderConsumer {
 
-    private final ObjectMapper objectMapper;
     private final StockService stockService;
 
-    @KafkaListener(topics = "order-created", groupId = "stock-service-group")
-    public void listenOrderCreation(String message) {
-        log.info("Received message: {}", message);
-
-        try {
-            OrderCreatedEvent event = objectMapper.readValue(message, OrderCreatedEvent.class);
-
-            // 2. 재고 차감 로직이 담긴 서비스 메소드 호출
-            stockService.decreaseStock(event);
+    // 처리에 실패하면 예외를 그대로 던집니다. 컨테이너의 에러 핸들러가 다시 처리하거나 dead letter 로 보냅니다. (KafkaConsumerConfig)
+    @KafkaHandler
+    public void listenOrderCreation(OrderCreatedEvent event) {
+        log.info("Received order creation event. OrderId: {}", event.orderId());
+        // 재고 차감 로직이 담긴 서비스 메소드 호출
+        stockService.decreaseStock(event);
+    }
 
-        } catch (JsonProcessingException e) {
-            log.error("메시지 역직렬화에 실패했습니다: {}", message, e);
-        } catch (Exception e) {
-            log.error("메시지 처리에 실패했습니다: {}", message, e);
-            // 에러 처리 로직 (예: 재시도, 에러 로깅 등)
-        }
+    @KafkaHandler
+    public void listenOrderDeletion(OrderCancelledEvent event) {
+        log.info("Received order cancellation event. OrderId: {}", event.orderId());
+        stockService.increaseStock(event);
     }
 
-    @KafkaListener(topics = "order-cancelled", groupId = "stock-service-group")
-    public void listenOrderDeletion(String message) {
-        log.info("Received order cancellation message: {}", message);
-        try {
-            OrderCancelledEvent event = objectMapper.readValue(message, OrderCancelledEvent.class);
-            stockService.increaseStock(event);
-        } catch (Exception e) {
-            log.error("메시지 처리 실패 (주문 취소): {}", message, e);
-        }
+    @KafkaHandler
+    public void listenOrderPayment(OrderPaidEvent event) {
+        log.info("Received order payment event. OrderId: {}", event.orderId());
+        stockService.confirmStock(event);
     }
-}
\ No newline at end of file
+}
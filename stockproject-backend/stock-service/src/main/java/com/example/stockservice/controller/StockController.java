@@ -0,0 +1,38 @@
+package com.example.stockservice.controller;
+
+import com.example.stockservice.dto.response.StockResponseDto;
+import com.example.stockservice.service.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("api/v1/stock")
+@RequiredArgsConstructor
+public class StockController {
+
+    private final StockService stockService;
+
+    // 재고 단건 조회
+    @GetMapping("/{productId}")
+    public ResponseEntity<StockResponseDto> findStock(@PathVariable String productId) {
+        Long quantity = stockService.getAvailableQuantities(List.of(productId)).get(productId);
+        if (quantity == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new StockResponseDto(productId, quantity));
+    }
+
+    // 재고 여러 개 조회 ("api/v1/stock/list?ids=101,102"). 재고 정보가 없는 상품은 응답에서 빠집니다.
+    @GetMapping("/list")
+    public ResponseEntity<List<StockResponseDto>> findStocks(@RequestParam List<String> ids) {
+        Map<String, Long> quantities = stockService.getAvailableQuantities(ids);
+        List<StockResponseDto> stocks = quantities.entrySet().stream()
+                .map(entry -> new StockResponseDto(entry.getKey(), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(stocks);
+    }
+}
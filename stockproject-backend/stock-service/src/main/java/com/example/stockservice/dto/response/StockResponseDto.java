@@ -0,0 +1,6 @@
+package com.example.stockservice.dto.response;
+
+public record StockResponseDto(
+        String productId,
+        Long quantity // 판매 가능 수량 (샤드 합계, 예약된 수량 제외)
+) {}
@@ -0,0 +1,73 @@
+package com.example.stockservice.repository;
+
+import io.lettuce.core.ReadFrom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+// 재고 조회(판매 가능 수량)만 레플리카에서 읽기 위한 템플릿.
+// stock.redis.availability.read-from 을 지정하면(예: replicaPreferred) 기본 연결과 같은 Redis 설정에 ReadFrom 만 바꾼 연결을 따로 엽니다.
+// 지정하지 않으면 기본 StringRedisTemplate 을 그대로 씁니다.
+// 조회는 복제 지연만큼 늦을 수 있지만, 차감 가능 여부는 항상 마스터의 재고 스크립트가 판단하므로 초과 판매로 이어지지 않습니다.
+// (ReadFrom 은 Lettuce 기준으로 Sentinel, 클러스터, 레플리카가 붙은 단일 마스터 구성에서 동작합니다)
+@Component
+@Slf4j
+public class AvailabilityReadTemplate implements DisposableBean {
+
+    private final StringRedisTemplate template;
+    private final LettuceConnectionFactory replicaConnectionFactory;
+
+    public AvailabilityReadTemplate(
+            StringRedisTemplate redisTemplate,
+            @Value("${stock.redis.availability.read-from:}") String readFrom) {
+        if (readFrom.isBlank() || !(redisTemplate.getRequiredConnectionFactory() instanceof LettuceConnectionFactory primary)) {
+            this.template = redisTemplate;
+            this.replicaConnectionFactory = null;
+            return;
+        }
+        this.replicaConnectionFactory = replicaConnectionFactory(primary, ReadFrom.valueOf(readFrom));
+        this.replicaConnectionFactory.afterPropertiesSet();
+        this.replicaConnectionFactory.start();
+        this.template = new StringRedisTemplate(replicaConnectionFactory);
+        log.info("재고 조회는 ReadFrom={} 로 읽습니다.", readFrom);
+    }
+
+    public StringRedisTemplate template() {
+        return template;
+    }
+
+    @Override
+    public void destroy() {
+        if (replicaConnectionFactory != null) {
+            replicaConnectionFactory.destroy();
+        }
+    }
+
+    // 기본 연결의 접속 정보와 클라이언트 설정(ClientResources, 타임아웃 등)을 그대로 쓰고 ReadFrom 만 바꿉니다.
+    // ClientResources 를 공유하므로 명령 지연 지표(lettuce.command.*)에도 함께 기록됩니다.
+    private static LettuceConnectionFactory replicaConnectionFactory(LettuceConnectionFactory primary, ReadFrom readFrom) {
+        LettuceClientConfiguration base = primary.getClientConfiguration();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .readFrom(readFrom)
+                .commandTimeout(base.getCommandTimeout())
+                .shutdownTimeout(base.getShutdownTimeout());
+        base.getClientResources().ifPresent(builder::clientResources);
+        base.getClientOptions().ifPresent(builder::clientOptions);
+        base.getClientName().ifPresent(builder::clientName);
+        if (base.isUseSsl()) {
+            builder.useSsl();
+        }
+
+        if (primary.isClusterAware()) {
+            return new LettuceConnectionFactory(primary.getClusterConfiguration(), builder.build());
+        }
+        if (primary.isRedisSentinelAware()) {
+            return new LettuceConnectionFactory(primary.getSentinelConfiguration(), builder.build());
+        }
+        return new LettuceConnectionFactory(primary.getStandaloneConfiguration(), builder.build());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.stockservice.repository;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.OrderPaidEvent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 주문 한 건이 재고에 주는 변경 (상품별 수량은 합산되어 있습니다.)
+// 주문 ID가 있으면 재고 예약으로 처리합니다.
+//  DECREASE : 재고를 차감하고 예약을 만듭니다. 예약은 stock.reservation.ttl 이 지나면 StockReservationSweeper 가 풀어 줍니다.
+//  INCREASE : 주문 취소. 예약이 남아 있을 때만 재고를 복구합니다.
+//  CONFIRM  : 결제 완료. 예약만 지우고 재고는 차감된 상태로 둡니다.
+//             예약이 이미 풀렸으면 주문 상품(quantities)만큼 재고를 다시 차감합니다. (결제된 주문의 재고가 풀린 채로 남지 않도록)
+//  EXPIRE   : 만료된 예약을 풀어 재고를 복구합니다.
+public record StockMutation(
+        String orderId,
+        Type type,
+        Map<String, Long> quantities
+) {
+    public enum Type {
+        DECREASE,
+        INCREASE,
+        CONFIRM,
+        EXPIRE
+    }
+
+    public static StockMutation decrease(OrderCreatedEvent event) {
+        return new StockMutation(event.orderId(), Type.DECREASE, sumQuantities(event.items()));
+    }
+
+    public static StockMutation increase(OrderCancelledEvent event) {
+        return new StockMutation(event.orderId(), Type.INCREASE, sumQuantities(event.items()));
+    }
+
+    // items 가 없는 이전 메시지는 다시 차감할 수량을 알 수 없으므로 예약 확정만 합니다.
+    public static StockMutation confirm(OrderPaidEvent event) {
+        return new StockMutation(event.orderId(), Type.CONFIRM, event.items() == null ? Map.of() : sumQuantities(event.items()));
+    }
+
+    public static StockMutation expire(String orderId, Map<String, Long> reservedQuantities) {
+        return new StockMutation(orderId, Type.EXPIRE, reservedQuantities);
+    }
+
+    // 같은 상품이 여러 줄로 들어와도 한 번만 검사하도록 상품별 수량을 합산합니다.
+    private static Map<String, Long> sumQuantities(List<OrderItemPayload> items) {
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        for (OrderItemPayload item : items) {
+            quantities.merge(item.productId(), item.quantity().longValue(), Long::sum);
+        }
+        return quantities;
+    }
+}
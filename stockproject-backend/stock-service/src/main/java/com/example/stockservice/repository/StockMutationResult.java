@@ -0,0 +1,68 @@
+package com.example.stockservice.repository;
+
+import java.util.List;
+
+// Lua 스크립트의 반환 코드를 해석한 결과
+public record StockMutationResult(
+        Status status,
+        String productId // 실패한 상품 ID (성공 시 null)
+) {
+    public enum Status {
+        SUCCESS,
+        STOCK_NOT_FOUND,
+        INSUFFICIENT_STOCK,
+        DUPLICATE, // 같은 주문 이벤트가 이미 반영되어 건너뜀
+        NOT_RESERVED, // 취소/확정/만료할 재고 예약이 없음 (이미 만료되었거나 예약에 실패한 주문)
+        RECLAIMED // 확정할 예약이 없어 주문 상품만큼 재고를 다시 차감하고 확정함
+    }
+
+    // stock-apply-batch.lua 의 DUPLICATE, NOT_RESERVED, RECLAIMED 와 같은 값
+    static final long DUPLICATE_CODE = Integer.MAX_VALUE;
+    static final long NOT_RESERVED_CODE = Integer.MAX_VALUE - 1;
+    static final long RECLAIMED_CODE = Integer.MAX_VALUE - 2;
+
+    public static StockMutationResult success() {
+        return new StockMutationResult(Status.SUCCESS, null);
+    }
+
+    public static StockMutationResult duplicate() {
+        return new StockMutationResult(Status.DUPLICATE, null);
+    }
+
+    public static StockMutationResult notReserved() {
+        return new StockMutationResult(Status.NOT_RESERVED, null);
+    }
+
+    public static StockMutationResult reclaimed() {
+        return new StockMutationResult(Status.RECLAIMED, null);
+    }
+
+    // 0 = 성공, -i = i번째 상품 재고 없음, i = i번째 상품 재고 부족 (1부터 시작), DUPLICATE_CODE = 이미 반영됨, NOT_RESERVED_CODE = 예약 없음,
+    // RECLAIMED_CODE = 예약 없이 다시 차감해 확정함
+    static StockMutationResult fromScriptCode(Long code, List<String> productIds) {
+        if (code == null) {
+            throw new IllegalStateException("재고 스크립트 실행 결과가 없습니다.");
+        }
+        if (code == 0) {
+            return success();
+        }
+        if (code == DUPLICATE_CODE) {
+            return duplicate();
+        }
+        if (code == NOT_RESERVED_CODE) {
+            return notReserved();
+        }
+        if (code == RECLAIMED_CODE) {
+            return reclaimed();
+        }
+        String productId = productIds.get((int) Math.abs(code) - 1);
+        return code < 0
+                ? new StockMutationResult(Status.STOCK_NOT_FOUND, productId)
+                : new StockMutationResult(Status.INSUFFICIENT_STOCK, productId);
+    }
+
+    // RECLAIMED 도 재고가 반영된 것이므로 성공입니다.
+    public boolean isSuccess() {
+        return status == Status.SUCCESS || status == Status.RECLAIMED;
+    }
+}
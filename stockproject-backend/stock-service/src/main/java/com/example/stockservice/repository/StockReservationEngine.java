@@ -0,0 +1,282 @@
+package com.example.stockservice.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 주문의 재고 변경을 Lua 스크립트로 Redis 서버에서 원자적으로 처리합니다.
+// findById -> decrease -> save 방식은 왕복이 여러 번 필요하고, 동시 소비 시 갱신 손실이 발생합니다.
+// 주문 ID가 있는 변경은 처리 기록(stock-ledger:{orderId}:{type})을 같은 스크립트에서 확인/기록하여, 재전달되어도 한 번만 반영합니다.
+// 주문 생성 시의 차감은 재고 예약(stock-reservation:{orderId})으로 남고, 결제 확정이나 취소가 없으면 TTL 뒤에 풀립니다.
+// 예약 키는 만료 시각 구간(stock-reservation-expiry:{구간 시작 ms}) 집합에 등록되므로,
+// 만료 처리는 전체 재고를 훑지 않고 지나간 구간의 예약만 읽습니다.
+// 왕복 한 번에 보낸 명령 수(스크립트는 처리한 주문 수)는 stock.redis.pipeline.depth{operation} 로 기록합니다.
+@Repository
+@Slf4j
+public class StockReservationEngine {
+
+    // @RedisHash("stock") 가 사용하는 키 형식과 동일합니다. (stock:{productId})
+    public static final String KEY_PREFIX = "stock:";
+    public static final String LEDGER_KEY_PREFIX = "stock-ledger:";
+    public static final String RESERVATION_KEY_PREFIX = "stock-reservation:";
+    public static final String EXPIRY_BUCKET_KEY_PREFIX = "stock-reservation-expiry:";
+    // 마지막으로 처리한 만료 구간
+    private static final String SWEEP_CURSOR_KEY = EXPIRY_BUCKET_KEY_PREFIX + "cursor";
+    // 커서가 없을 때(최초 실행) 거슬러 올라가 확인할 기간
+    private static final Duration INITIAL_SWEEP_LOOKBACK = Duration.ofHours(1);
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> APPLY_BATCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/stock-apply-batch.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AvailabilityReadTemplate availabilityReadTemplate;
+    private final Duration ledgerTtl;
+    private final Duration reservationTtl;
+    private final long bucketWidthMillis;
+
+    private final DistributionSummary applyBatchDepth;
+    private final DistributionSummary reservationReadDepth;
+    private final DistributionSummary availabilityReadDepth;
+
+    // 처리 기록 TTL 은 Kafka 가 같은 레코드를 다시 전달할 수 있는 기간(보존 기간)보다 길어야 합니다.
+    // 예약 TTL 은 order-service 의 결제 가능 시간(Order.PAYMENT_TIMEOUT)에 이벤트 전달 지연을 더한 값보다 길어야 합니다.
+    public StockReservationEngine(
+            StringRedisTemplate redisTemplate,
+            AvailabilityReadTemplate availabilityReadTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${stock.ledger.ttl:7d}") Duration ledgerTtl,
+            @Value("${stock.reservation.ttl:20m}") Duration reservationTtl,
+            @Value("${stock.reservation.bucket-width:10s}") Duration bucketWidth) {
+        if (bucketWidth.toMillis() < 1) {
+            throw new IllegalArgumentException("예약 만료 구간 크기는 1ms 이상이어야 합니다: " + bucketWidth);
+        }
+        this.redisTemplate = redisTemplate;
+        this.availabilityReadTemplate = availabilityReadTemplate;
+        this.ledgerTtl = ledgerTtl;
+        this.reservationTtl = reservationTtl;
+        this.bucketWidthMillis = bucketWidth.toMillis();
+        this.applyBatchDepth = pipelineDepth(meterRegistry, "apply-batch");
+        this.reservationReadDepth = pipelineDepth(meterRegistry, "reservation-read");
+        this.availabilityReadDepth = pipelineDepth(meterRegistry, "availability-read");
+    }
+
+    // EVAL 로 실행한 스크립트는 캐시에 남지 않을 수 있어, 매 호출이 EVALSHA 실패(NOSCRIPT) -> EVAL 두 번의 왕복이 됩니다.
+    // 시작 시 SCRIPT LOAD 로 미리 등록해 두면 평상시에는 EVALSHA 한 번으로 끝납니다.
+    @PostConstruct
+    public void loadScripts() {
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                connection.scriptingCommands().scriptLoad(APPLY_BATCH_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+                return null;
+            });
+        } catch (Exception e) {
+            // Redis 가 아직 준비되지 않았어도 기동은 계속합니다. (첫 호출 시 EVAL 로 대체됨)
+            log.warn("재고 스크립트를 Redis에 미리 등록하지 못했습니다.", e);
+        }
+    }
+
+    // 모든 상품의 재고가 충분할 때만 한 번에 차감합니다. 하나라도 부족하면 아무것도 차감하지 않습니다.
+    public StockMutationResult decrease(Map<String, Long> quantities) {
+        return applyBatch(List.of(new StockMutation(null, StockMutation.Type.DECREASE, quantities))).get(0);
+    }
+
+    // 모든 상품의 재고 정보가 있을 때만 한 번에 복구합니다.
+    public StockMutationResult increase(Map<String, Long> quantities) {
+        return applyBatch(List.of(new StockMutation(null, StockMutation.Type.INCREASE, quantities))).get(0);
+    }
+
+    // 주문 한 건의 재고 변경. 같은 주문 ID와 타입으로 이미 반영된 변경이면 DUPLICATE 를 반환합니다.
+    public StockMutationResult apply(StockMutation mutation) {
+        return applyBatch(List.of(mutation)).get(0);
+    }
+
+    // 여러 주문의 재고 변경을 스크립트 한 번(왕복 한 번)으로 적용합니다.
+    // 주문마다 all-or-nothing 이며, 한 주문의 실패가 같은 배치의 다른 주문에 영향을 주지 않습니다.
+    public List<StockMutationResult> applyBatch(List<StockMutation> mutations) {
+        if (mutations.isEmpty()) {
+            return List.of();
+        }
+
+        // 배치 안에서 상품별 재고 키는 한 번만 전달하고, 주문 항목은 상품 번호로 참조합니다.
+        Map<String, Integer> productIndexes = new LinkedHashMap<>();
+        List<String> orderKeys = new ArrayList<>();
+        List<String> orderArgs = new ArrayList<>();
+        orderArgs.add(String.valueOf(ledgerTtl.toMillis()));
+        orderArgs.add(String.valueOf(mutations.size()));
+        // 만료 시각이 속한 구간의 끝으로 올림하여, 구간을 처리할 때 그 안의 예약은 모두 만료되어 있게 합니다.
+        long expiresAt = Instant.now().plus(reservationTtl).toEpochMilli();
+        String bucketKey = EXPIRY_BUCKET_KEY_PREFIX + Math.floorDiv(expiresAt + bucketWidthMillis - 1, bucketWidthMillis) * bucketWidthMillis;
+        for (StockMutation mutation : mutations) {
+            orderArgs.add(operationCode(mutation.type()));
+            if (mutation.orderId() == null) {
+                orderArgs.add("0");
+            } else {
+                orderArgs.add("1");
+                orderKeys.add(ledgerKey(mutation));
+                orderKeys.add(RESERVATION_KEY_PREFIX + mutation.orderId());
+                // 확정은 만료 구간 대신 예약(차감)의 처리 기록 키를 넘깁니다. 예약 없이 다시 차감하면 함께 기록해,
+                // 늦게 도착한 주문 생성 이벤트가 한 번 더 차감하지 않게 합니다.
+                orderKeys.add(mutation.type() == StockMutation.Type.CONFIRM
+                        ? LEDGER_KEY_PREFIX + mutation.orderId() + ":" + StockMutation.Type.DECREASE.name().toLowerCase()
+                        : bucketKey);
+            }
+            orderArgs.add(String.valueOf(mutation.quantities().size()));
+            mutation.quantities().forEach((productId, quantity) -> {
+                int productIndex = productIndexes.computeIfAbsent(productId, id -> productIndexes.size() + 1);
+                orderArgs.add(String.valueOf(productIndex));
+                orderArgs.add(String.valueOf(quantity));
+            });
+        }
+
+        List<String> productIds = new ArrayList<>(productIndexes.keySet());
+        List<String> keys = new ArrayList<>(productIds.size() + orderKeys.size());
+        List<String> args = new ArrayList<>(orderArgs.size() + 1);
+        args.add(String.valueOf(productIds.size()));
+        for (String productId : productIds) {
+            keys.add(KEY_PREFIX + productId);
+        }
+        keys.addAll(orderKeys);
+        args.addAll(orderArgs);
+
+        applyBatchDepth.record(mutations.size());
+        List<?> codes = redisTemplate.execute(APPLY_BATCH_SCRIPT, keys, args.toArray());
+        if (codes == null || codes.size() != mutations.size()) {
+            throw new IllegalStateException("재고 배치 스크립트 실행 결과가 올바르지 않습니다.");
+        }
+        return codes.stream()
+                .map(code -> StockMutationResult.fromScriptCode((Long) code, productIds))
+                .toList();
+    }
+
+    // 지나간 만료 구간의 예약을 풀어 재고를 복구하고, 복구한 예약을 반환합니다.
+    // 구간 집합에는 만료될 예약만 들어 있으므로 비용은 상품 수가 아니라 만료되는 예약 수에 비례합니다.
+    // 여러 인스턴스가 같은 구간을 처리해도 스크립트가 예약이 남아 있을 때만 복구하므로 재고는 한 번만 돌아옵니다.
+    public List<StockMutation> releaseExpired(Instant now) {
+        long lastDueBucket = Math.floorDiv(now.toEpochMilli(), bucketWidthMillis) * bucketWidthMillis;
+        String cursor = redisTemplate.opsForValue().get(SWEEP_CURSOR_KEY);
+        long bucket = cursor != null
+                ? Long.parseLong(cursor) + bucketWidthMillis
+                : lastDueBucket - INITIAL_SWEEP_LOOKBACK.toMillis() / bucketWidthMillis * bucketWidthMillis;
+
+        List<StockMutation> released = new ArrayList<>();
+        for (; bucket <= lastDueBucket; bucket += bucketWidthMillis) {
+            released.addAll(releaseBucket(EXPIRY_BUCKET_KEY_PREFIX + bucket));
+            // 구간을 다 처리한 뒤에만 커서를 옮깁니다. 중간에 실패하면 다음 실행에서 그 구간부터 다시 처리합니다.
+            redisTemplate.opsForValue().set(SWEEP_CURSOR_KEY, String.valueOf(bucket));
+        }
+        return released;
+    }
+
+    private List<StockMutation> releaseBucket(String bucketKey) {
+        Set<String> reservationKeys = redisTemplate.opsForSet().members(bucketKey);
+        if (reservationKeys == null || reservationKeys.isEmpty()) {
+            return List.of();
+        }
+
+        // 예약 내용(상품별 수량)을 파이프라인으로 한 번에 읽습니다. 이미 확정/취소된 예약은 비어 있습니다.
+        List<String> keys = new ArrayList<>(reservationKeys);
+        reservationReadDepth.record(keys.size());
+        List<Object> contents = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.hashCommands().hGetAll(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        List<StockMutation> expirations = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Map<?, ?> content = (Map<?, ?>) contents.get(i);
+            if (content == null || content.isEmpty()) {
+                continue;
+            }
+            Map<String, Long> quantities = new LinkedHashMap<>();
+            content.forEach((productId, quantity) -> quantities.put((String) productId, Long.parseLong((String) quantity)));
+            expirations.add(StockMutation.expire(keys.get(i).substring(RESERVATION_KEY_PREFIX.length()), quantities));
+        }
+
+        List<StockMutation> released = new ArrayList<>();
+        for (int from = 0; from < expirations.size(); from += SWEEP_BATCH_SIZE) {
+            List<StockMutation> chunk = expirations.subList(from, Math.min(from + SWEEP_BATCH_SIZE, expirations.size()));
+            List<StockMutationResult> results = applyBatch(chunk);
+            for (int i = 0; i < results.size(); i++) {
+                StockMutationResult result = results.get(i);
+                if (result.isSuccess()) {
+                    released.add(chunk.get(i));
+                } else if (result.status() != StockMutationResult.Status.NOT_RESERVED) {
+                    log.error("만료된 재고 예약을 풀지 못했습니다. OrderId: {}, status: {}, productId: {}",
+                            chunk.get(i).orderId(), result.status(), result.productId());
+                }
+            }
+        }
+        redisTemplate.delete(bucketKey);
+        return released;
+    }
+
+    // 여러 상품의 재고 수량을 한 번에 읽습니다. 재고 정보가 없는 상품은 결과에서 빠집니다.
+    // HGET 을 파이프라인으로 묶어 왕복 한 번에 읽습니다. AvailabilityReadTemplate 으로 읽으므로, 설정에 따라 레플리카에서 읽습니다.
+    public Map<String, Long> getQuantities(Collection<String> productIds) {
+        List<String> distinctIds = productIds.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        byte[] field = "quantity".getBytes(StandardCharsets.UTF_8);
+        availabilityReadDepth.record(distinctIds.size());
+        List<Object> values = availabilityReadTemplate.template().executePipelined((RedisCallback<Object>) connection -> {
+            for (String productId : distinctIds) {
+                connection.hashCommands().hGet((KEY_PREFIX + productId).getBytes(StandardCharsets.UTF_8), field);
+            }
+            return null;
+        });
+
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (values.get(i) != null) {
+                quantities.put(distinctIds.get(i), Long.parseLong((String) values.get(i)));
+            }
+        }
+        return quantities;
+    }
+
+    private static DistributionSummary pipelineDepth(MeterRegistry meterRegistry, String operation) {
+        return DistributionSummary.builder("stock.redis.pipeline.depth")
+                .description("Redis 왕복 한 번에 보낸 명령 수 (스크립트는 처리한 주문 수)")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // stock-apply-batch.lua 의 처리 방식 값
+    private static String operationCode(StockMutation.Type type) {
+        return switch (type) {
+            case DECREASE -> "-1";
+            case CONFIRM -> "0";
+            case INCREASE -> "1";
+            case EXPIRE -> "2";
+        };
+    }
+
+    // stock-ledger:{orderId}:decrease, stock-ledger:{orderId}:increase ...
+    private static String ledgerKey(StockMutation mutation) {
+        return LEDGER_KEY_PREFIX + mutation.orderId() + ":" + mutation.type().name().toLowerCase();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.stockservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// 결제 확정도 취소도 되지 않은 채 TTL 이 지난 재고 예약을 주기적으로 풀어 판매 가능한 재고로 되돌립니다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationSweeper {
+
+    private final StockService stockService;
+
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval-ms:1000}")
+    public void sweep() {
+        try {
+            int released = stockService.releaseExpiredReservations(Instant.now());
+            if (released > 0) {
+                log.info("만료된 재고 예약을 풀었습니다. 건수: {}", released);
+            }
+        } catch (Exception e) {
+            log.warn("만료된 재고 예약 처리에 실패했습니다.", e);
+        }
+    }
+}
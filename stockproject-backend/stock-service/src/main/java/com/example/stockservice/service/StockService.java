@@ -3,8 +3,30 @@ package com.example.stockservice.service;
 
 import com.example.dto.OrderCancelledEvent;
 import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderPaidEvent;
+import com.example.stockservice.repository.StockMutation;
+import com.example.stockservice.repository.StockMutationResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 public interface StockService {
     void decreaseStock(OrderCreatedEvent event);
     void increaseStock(OrderCancelledEvent event);
-}
\ No newline at end of file
+
+    // 결제 완료: 재고 예약을 확정합니다.
+    void confirmStock(OrderPaidEvent event);
+
+    // 결제 확정 결과를 확인합니다. 확정하지 못했으면 다시 시도할지에 맞는 예외를 던집니다. (배치 리스너도 같은 기준을 씁니다)
+    void checkConfirmed(StockMutation mutation, StockMutationResult result);
+
+    // 만료된 재고 예약을 풀고 푼 예약 수를 반환합니다.
+    int releaseExpiredReservations(Instant now);
+
+    // 판매 가능 재고 조회 (near-cache 사용). 재고 정보가 없는 상품은 결과에서 빠집니다.
+    Map<String, Long> getAvailableQuantities(List<String> productIds);
+
+    // 배치 리스너용: 여러 주문의 재고 변경을 한 번에 적용하고 주문별 결과를 순서대로 반환
+    List<StockMutationResult> applyInBatch(List<StockMutation> mutations);
+}
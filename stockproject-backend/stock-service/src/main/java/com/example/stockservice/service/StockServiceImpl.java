@@ -2,51 +2,163 @@ package com.example.stockservice.service;
 
 
 import com.example.dto.OrderCancelledEvent;
-import com.example.dto.OrderItemPayload;
-import com.example.stockservice.domain.Stock;
 import com.example.dto.OrderCreatedEvent;
-import com.example.stockservice.repository.StockRepository;
+import com.example.dto.OrderPaidEvent;
+import com.example.stockservice.cache.StockAvailabilityCache;
+import com.example.stockservice.config.StockPipelineMetrics;
+import com.example.stockservice.repository.StockMutation;
+import com.example.stockservice.repository.StockMutationResult;
+import com.example.stockservice.repository.StockReservationEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StockServiceImpl implements StockService {
 
-    private final StockRepository stockRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final StockAvailabilityCache stockAvailabilityCache;
+    private final StockPipelineMetrics pipelineMetrics;
 
     @Override
-    @Transactional // Spring Data Redis도 트랜잭션을 지원합니다.
     public void decreaseStock(OrderCreatedEvent event) {
         log.info("재고 차감 로직을 실행합니다. OrderId: {}", event.orderId());
 
-        for (OrderItemPayload item : event.items()) {
-            // ⭐️ JpaRepository의 findByProductId 대신, CrudRepository의 findById를 사용합니다.
-            Stock stock = stockRepository.findById(item.productId())
-                    .orElseThrow(() -> new IllegalArgumentException("상품에 대한 재고 정보가 없습니다."));
+        // ⭐️ 조회 -> 차감 -> 저장 대신, 모든 상품을 한 번의 원자적 스크립트로 차감합니다.
+        // 같은 주문 이벤트가 재전달되면 스크립트가 처리 기록을 보고 건너뜁니다.
+        StockMutation mutation = StockMutation.decrease(event);
+        StockMutationResult result = pipelineMetrics.timeRedisApply("order-created", () -> stockReservationEngine.apply(mutation));
+        stockAvailabilityCache.evictAll(mutation.quantities().keySet());
+        throwIfFailed(result);
+    }
+
+    @Override
+    public void increaseStock(OrderCancelledEvent event) {
+        log.info("재고 복구 로직 실행합니다. orderId : {}", event.orderId());
+
+        StockMutation mutation = StockMutation.increase(event);
+        StockMutationResult result = pipelineMetrics.timeRedisApply("order-cancelled", () -> stockReservationEngine.apply(mutation));
+        stockAvailabilityCache.evictAll(mutation.quantities().keySet());
+        throwIfFailed(result);
+    }
+
+    @Override
+    public void confirmStock(OrderPaidEvent event) {
+        log.info("재고 예약을 확정합니다. orderId : {}", event.orderId());
 
-            log.info("기존 재고: {}, 요청 수량: {}", stock.getQuantity(), item.quantity());
-            stock.decrease(item.quantity().longValue());
-            log.info("차감 후 재고: {}", stock.getQuantity());
+        StockMutation mutation = StockMutation.confirm(event);
+        StockMutationResult result = pipelineMetrics.timeRedisApply("order-paid", () -> stockReservationEngine.apply(mutation));
+        recordLateConfirm(mutation, result);
+        if (result.status() == StockMutationResult.Status.RECLAIMED) {
+            stockAvailabilityCache.evictAll(mutation.quantities().keySet());
+        }
+        checkConfirmed(mutation, result);
+    }
 
-            // ⭐️ 변경된 재고 정보를 Redis에 다시 저장(덮어쓰기)합니다.
-            stockRepository.save(stock);
+    // ⭐️ 예약이 풀린 뒤 도착한 결제를 확정하지 못하면, 결제는 됐지만 재고가 빠지지 않은 주문이 됩니다.
+    //    stock-service 는 결제를 되돌릴 수 없으므로 이 주문을 버리지 않고 남기는 것까지 책임집니다.
+    //    - 재고 부족 : 재고가 채워지면 확정될 수 있으므로 IllegalStateException 으로 backoff 하며 다시 시도합니다.
+    //    - 재고 정보 없음(상품 삭제), 상품 정보가 없는 이전 메시지 : 다시 해도 같으므로 IllegalArgumentException 으로 바로 넘깁니다.
+    //    재시도가 끝나도 실패한 메시지는 에러 핸들러가 order-stock-events.DLT 로 보냅니다. (KafkaConsumerConfig)
+    //    stock.confirm.late{result=failed} 알림을 받으면 재고를 채워 DLT 메시지를 다시 보내거나, 주문을 직접 처리합니다.
+    @Override
+    public void checkConfirmed(StockMutation mutation, StockMutationResult result) {
+        switch (result.status()) {
+            case SUCCESS, RECLAIMED -> {
+            }
+            case DUPLICATE -> log.info("이미 반영된 주문 이벤트입니다. 재전달된 메시지를 건너뜁니다. OrderId: {}", mutation.orderId());
+            case INSUFFICIENT_STOCK -> throw new IllegalStateException("예약이 만료된 결제 주문의 재고를 다시 차감하지 못했습니다. 재고가 부족합니다. OrderId: "
+                    + mutation.orderId() + ", productId: " + result.productId());
+            case STOCK_NOT_FOUND -> throw new IllegalArgumentException("예약이 만료된 결제 주문의 재고를 다시 차감하지 못했습니다. 재고 정보가 없습니다. OrderId: "
+                    + mutation.orderId() + ", productId: " + result.productId());
+            // 상품 정보가 없는 이전 메시지라 다시 차감할 수 없습니다.
+            case NOT_RESERVED -> throw new IllegalArgumentException("확정할 재고 예약이 없습니다. 예약이 이미 만료되었습니다. OrderId: " + mutation.orderId());
         }
     }
 
     @Override
-    @Transactional
-    public void increaseStock(OrderCancelledEvent event) {
-        log.info("재고 복구 로직 실행합니다. orderId : {}", event.orderId());
+    public List<StockMutationResult> applyInBatch(List<StockMutation> mutations) {
+        log.info("재고 변경을 배치로 실행합니다. 주문 수: {}", mutations.size());
+        List<StockMutationResult> results = pipelineMetrics.timeRedisApply("batch", () -> stockReservationEngine.applyBatch(mutations));
+        evictAll(mutations);
+        for (int i = 0; i < results.size(); i++) {
+            recordLateConfirm(mutations.get(i), results.get(i));
+        }
+        return results;
+    }
+
+    @Override
+    public int releaseExpiredReservations(Instant now) {
+        List<StockMutation> released = stockReservationEngine.releaseExpired(now);
+        evictAll(released);
+        return released.size();
+    }
+
+    @Override
+    public Map<String, Long> getAvailableQuantities(List<String> productIds) {
+        // near-cache 에 없는 상품만 Redis 에서 한 번에 읽습니다.
+        Map<String, Long> cached = stockAvailabilityCache.getAllPresent(productIds);
+        List<String> missingIds = productIds.stream()
+                .distinct()
+                .filter(productId -> !cached.containsKey(productId))
+                .toList();
+        Map<String, Long> fetched = missingIds.isEmpty() ? Map.of() : stockReservationEngine.getQuantities(missingIds);
+        stockAvailabilityCache.putAll(fetched);
+
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            Long quantity = cached.containsKey(productId) ? cached.get(productId) : fetched.get(productId);
+            if (quantity != null) {
+                quantities.put(productId, quantity);
+            }
+        }
+        return quantities;
+    }
+
+    // 예약이 풀린 뒤 도착한 결제 확정. 다시 차감하지 못한 주문은 결제됐지만 재고가 빠지지 않은 상태이므로 오류로 남깁니다.
+    private void recordLateConfirm(StockMutation mutation, StockMutationResult result) {
+        if (mutation.type() != StockMutation.Type.CONFIRM
+                || result.status() == StockMutationResult.Status.SUCCESS
+                || result.status() == StockMutationResult.Status.DUPLICATE) {
+            return;
+        }
+        if (result.status() == StockMutationResult.Status.RECLAIMED) {
+            pipelineMetrics.recordLateConfirm("reclaimed");
+            log.warn("재고 예약이 풀린 뒤 결제가 확정되어 재고를 다시 차감했습니다. OrderId: {}", mutation.orderId());
+            return;
+        }
+        pipelineMetrics.recordLateConfirm("failed");
+        log.error("재고 예약이 풀린 뒤 결제가 확정되었지만 재고를 다시 차감하지 못했습니다. OrderId: {}, status: {}, productId: {}",
+                mutation.orderId(), result.status(), result.productId());
+    }
+
+    // 이 인스턴스가 바꾼 재고는 near-cache 에서 바로 제거합니다.
+    private void evictAll(List<StockMutation> mutations) {
+        Set<String> productIds = new HashSet<>();
+        for (StockMutation mutation : mutations) {
+            productIds.addAll(mutation.quantities().keySet());
+        }
+        stockAvailabilityCache.evictAll(productIds);
+    }
 
-        for (OrderItemPayload item : event.items()) {
-            Stock stock = stockRepository.findById(item.productId())
-                    .orElseThrow(() -> new IllegalArgumentException("상품에 대한 재고 정보가 없습니다."));
-            stock.increase(item.quantity().longValue());
-            stockRepository.save(stock);
+    private void throwIfFailed(StockMutationResult result) {
+        switch (result.status()) {
+            case SUCCESS, RECLAIMED -> {
+            }
+            case DUPLICATE -> log.info("이미 반영된 주문 이벤트입니다. 재전달된 메시지를 건너뜁니다.");
+            // 예약이 만료되어 이미 풀렸거나, 예약(재고 차감)에 실패했던 주문의 취소입니다. 복구할 재고가 없습니다.
+            case NOT_RESERVED -> log.info("재고 예약이 없어 재고를 복구하지 않습니다.");
+            case STOCK_NOT_FOUND -> throw new IllegalArgumentException("상품에 대한 재고 정보가 없습니다.");
+            case INSUFFICIENT_STOCK -> throw new IllegalArgumentException("재고가 부족합니다. ProductId: " + result.productId());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+-- 여러 주문의 재고 변경을 한 번의 왕복으로 처리합니다. 주문 단위로 all-or-nothing 이 보장됩니다.
+-- KEYS    : 배치에 등장하는 재고 해시 키(stock:{productId}) (상품별로 한 번만 전달)
+--           다음에 주문 ID가 있는 주문은 [처리 기록 키, 예약 키(stock-reservation:{orderId}), 만료 구간 키] 를 주문 순서대로 전달합니다.
+--           확정은 만료 구간 키 대신 예약의 처리 기록 키(stock-ledger:{orderId}:decrease)를 전달합니다.
+-- ARGV    : [상품 수, 처리 기록 TTL(ms), 주문 수]
+--           다음에 주문마다 [처리 방식(-1 예약, 0 확정, 1 취소, 2 만료), 주문 ID 여부(0/1), 상품 수, (상품 번호, 수량) * 상품 수]
+--           주문 ID가 없으면 예약/처리 기록 없이 -1 은 차감, 1 은 복구만 합니다.
+-- 반환값  : 주문 순서대로 0 = 성공, -p = p번째 상품 재고 정보 없음, p = p번째 상품 재고 부족,
+--           DUPLICATE = 이미 반영된 주문, NOT_RESERVED = 취소/확정/만료할 예약이 없음,
+--           RECLAIMED = 예약 없이 다시 차감해 확정함 (StockMutationResult 의 코드와 같은 값)
+--
+-- 확정할 예약이 이미 풀렸으면(결제가 예약 TTL 보다 늦게 도착) 주문 상품만큼 재고를 다시 차감해 확정합니다.
+-- 다시 차감할 재고가 부족하면 재고 부족으로 실패하고 처리 기록을 남기지 않습니다. 상품 정보가 없는 이전 메시지는 NOT_RESERVED 입니다.
+--
+-- 처리 기록(stock-ledger:{orderId}:{type})은 재고 변경과 같은 스크립트 안에서 확인/기록하므로, 같은 이벤트가 재전달되어도 재고에는 한 번만 반영됩니다.
+-- 성공한 변경만 기록합니다. (재고 부족 등으로 실패한 주문은 재전달 시 다시 시도됩니다)
+
+local productCount = tonumber(ARGV[1])
+local keyPos = productCount + 1
+
+-- 검증: 0 = 가능, -1 = 재고 정보 없음, 1 = 재고 부족
+local function check(p, direction, quantity)
+    local current = redis.call('HGET', KEYS[p], 'quantity')
+    if not current then
+        return -1
+    end
+    if direction < 0 and tonumber(current) < quantity then
+        return 1
+    end
+    return 0
+end
+
+local DUPLICATE = 2147483647
+local NOT_RESERVED = 2147483646
+local RECLAIMED = 2147483645
+
+-- 주문 처리 방식 (StockReservationEngine 과 같은 값)
+local RESERVE = -1
+local CONFIRM = 0
+local RELEASE = 1
+local EXPIRE = 2
+
+-- stock:{productId} -> productId
+local function productIdOf(p)
+    return string.sub(KEYS[p], string.len('stock:') + 1)
+end
+
+local results = {}
+local ledgerTtl = tonumber(ARGV[2])
+local orderCount = tonumber(ARGV[3])
+local pos = 4
+for m = 1, orderCount do
+    local op = tonumber(ARGV[pos])
+    local direction = op == RESERVE and -1 or 1
+    local reclaim = false
+    local ledgerKey, reservationKey, bucketKey = nil, nil, nil
+    if ARGV[pos + 1] == '1' then
+        ledgerKey, reservationKey, bucketKey = KEYS[keyPos], KEYS[keyPos + 1], KEYS[keyPos + 2]
+        keyPos = keyPos + 3
+    end
+    local count = tonumber(ARGV[pos + 2])
+    local first = pos + 3
+    local code = 0
+
+    -- 0. 중복/예약 확인 단계 (같은 배치 안에서 재전달된 주문도 앞선 기록으로 걸러집니다)
+    --    만료 처리는 예약이 남아 있는지만 봅니다. 취소/확정/만료 중 먼저 처리된 쪽이 예약을 지우므로 재고는 한 번만 복구됩니다.
+    if ledgerKey then
+        if op ~= EXPIRE and redis.call('EXISTS', ledgerKey) == 1 then
+            code = DUPLICATE
+        elseif op ~= RESERVE and redis.call('EXISTS', reservationKey) == 0 then
+            if op == CONFIRM and count > 0 then
+                reclaim = true
+                direction = -1
+            else
+                code = NOT_RESERVED
+            end
+        end
+    end
+
+    -- 1. 검증 단계
+    if code == 0 and (op ~= CONFIRM or reclaim) then
+        for i = 0, count - 1 do
+            local p = tonumber(ARGV[first + i * 2])
+            local result = check(p, direction, tonumber(ARGV[first + i * 2 + 1]))
+            if result ~= 0 then
+                code = result * p
+                break
+            end
+        end
+    end
+
+    -- 2. 적용 단계
+    if code == 0 then
+        if op ~= CONFIRM or reclaim then
+            for i = 0, count - 1 do
+                redis.call('HINCRBY', KEYS[tonumber(ARGV[first + i * 2])], 'quantity', direction * tonumber(ARGV[first + i * 2 + 1]))
+            end
+        end
+        if ledgerKey then
+            if op == RESERVE then
+                -- 예약 내용은 만료 시 복구할 수량입니다. 만료 시각 구간(bucket)에 예약 키를 등록해 두면 스위퍼는 그 구간만 읽습니다.
+                for i = 0, count - 1 do
+                    local p = tonumber(ARGV[first + i * 2])
+                    redis.call('HSET', reservationKey, productIdOf(p), ARGV[first + i * 2 + 1])
+                end
+                redis.call('SADD', bucketKey, reservationKey)
+            else
+                redis.call('DEL', reservationKey)
+            end
+            if op ~= EXPIRE then
+                redis.call('SET', ledgerKey, '1', 'PX', ledgerTtl)
+            end
+            if reclaim then
+                -- 확정에서는 bucketKey 자리에 예약의 처리 기록 키가 옵니다.
+                redis.call('SET', bucketKey, '1', 'PX', ledgerTtl)
+                code = RECLAIMED
+            end
+        end
+    end
+
+    results[m] = code
+    pos = first + count * 2
+end
+return results
@@ -0,0 +1,96 @@
+package com.example.stockservice.config;
+
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KafkaConsumerConfigTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<Object, Object> deadLetterTemplate = mock(KafkaTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<Object, Object> consumer = mock(Consumer.class);
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+
+    private DefaultErrorHandler errorHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaConsumerConfig config = new KafkaConsumerConfig(1, new StockPipelineMetrics(new SimpleMeterRegistry()));
+        errorHandler = config.kafkaErrorHandler(deadLetterTemplate, 1, 1, 2);
+        when(deadLetterTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(container.isRunning()).thenReturn(true);
+    }
+
+    private ConsumerRecord<Object, Object> record() {
+        OrderCreatedEvent event = new OrderCreatedEvent("order-id-101", 1L, 20000L, LocalDateTime.now(),
+                List.of(new OrderItemPayload("product-id-101", 2, 10000L)));
+        return new ConsumerRecord<>("order-stock-events", 0, 7L, "product-id-101", event);
+    }
+
+    private static Exception listenerFailure(Exception cause) {
+        return new ListenerExecutionFailedException("리스너 실패", cause);
+    }
+
+    @Test
+    @DisplayName("에러 핸들러: 재고 부족처럼 다시 해도 같은 결과인 실패는 재시도 없이 바로 {토픽}.DLT 로 보낸다.")
+    @SuppressWarnings("unchecked")
+    void errorHandler_NotRetryable_DeadLettersImmediately() {
+        // given
+        ConsumerRecord<Object, Object> record = record();
+
+        // when
+        boolean recovered = errorHandler.handleOne(
+                listenerFailure(new IllegalArgumentException("재고가 부족합니다.")), record, consumer, container);
+
+        // then
+        assertThat(recovered).isTrue();
+        ArgumentCaptor<ProducerRecord<Object, Object>> deadLetter = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(deadLetterTemplate).send(deadLetter.capture());
+        assertThat(deadLetter.getValue().topic()).isEqualTo("order-stock-events.DLT");
+        assertThat(deadLetter.getValue().key()).isEqualTo("product-id-101");
+        assertThat(deadLetter.getValue().value()).isSameAs(record.value());
+    }
+
+    @Test
+    @DisplayName("에러 핸들러: 일시적인 실패는 max-retries 번 다시 처리하고, 그래도 실패하면 DLT 로 보낸다.")
+    @SuppressWarnings("unchecked")
+    void errorHandler_Retryable_DeadLettersAfterRetries() {
+        // given
+        ConsumerRecord<Object, Object> record = record();
+        Exception failure = listenerFailure(new IllegalStateException("Redis 연결 실패"));
+
+        // when : 처음 실패 + 재시도 2번
+        boolean first = errorHandler.handleOne(failure, record, consumer, container);
+        boolean second = errorHandler.handleOne(failure, record, consumer, container);
+        boolean third = errorHandler.handleOne(failure, record, consumer, container);
+
+        // then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        assertThat(third).isTrue();
+        verify(deadLetterTemplate, times(1)).send(any(ProducerRecord.class));
+    }
+}
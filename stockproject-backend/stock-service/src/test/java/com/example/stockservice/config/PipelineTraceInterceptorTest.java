@@ -0,0 +1,112 @@
+package com.example.stockservice.config;
+
+import com.example.dto.trace.TraceContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PipelineTraceInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PipelineTraceInterceptor interceptor;
+
+    @SuppressWarnings("unchecked")
+    private final Consumer<Object, Object> consumer = mock(Consumer.class);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new PipelineTraceInterceptor(new StockPipelineMetrics(meterRegistry));
+    }
+
+    private ConsumerRecord<Object, Object> record(String topic, long timestamp, String traceparent, Long createdAt) {
+        RecordHeaders headers = new RecordHeaders();
+        if (traceparent != null) {
+            headers.add(new RecordHeader(TraceContext.TRACEPARENT_HEADER, traceparent.getBytes(StandardCharsets.UTF_8)));
+        }
+        if (createdAt != null) {
+            headers.add(new RecordHeader(TraceContext.CREATED_AT_HEADER, String.valueOf(createdAt).getBytes(StandardCharsets.UTF_8)));
+        }
+        return new ConsumerRecord<>(topic, 0, 0L, timestamp, TimestampType.CREATE_TIME, -1, -1,
+                "product-id-101", new Object(), headers, Optional.empty());
+    }
+
+    private long timerCount(String stage, String topic) {
+        return meterRegistry.get(StockPipelineMetrics.TIMER_NAME).tags("stage", stage, "topic", topic).timer().count();
+    }
+
+    @Test
+    @DisplayName("단건 리스너: 대기 시간과 end-to-end 지연을 기록하고, 처리하는 동안만 traceId 를 MDC 에 넣는다.")
+    void recordInterceptor_RecordsStagesAndTraceId() {
+        // given
+        String traceparent = TraceContext.newTraceparent();
+        long now = System.currentTimeMillis();
+        ConsumerRecord<Object, Object> record = record("order-created", now - 20, traceparent, now - 50);
+
+        // when
+        interceptor.intercept(record, consumer);
+        String traceIdDuringListener = MDC.get(PipelineTraceInterceptor.TRACE_ID_MDC_KEY);
+        interceptor.afterRecord(record, consumer);
+
+        // then
+        assertThat(traceIdDuringListener).isEqualTo(TraceContext.traceId(traceparent));
+        assertThat(MDC.get(PipelineTraceInterceptor.TRACE_ID_MDC_KEY)).isNull();
+        assertThat(timerCount("queue", "order-created")).isEqualTo(1);
+        assertThat(timerCount("end-to-end", "order-created")).isEqualTo(1);
+        assertThat(meterRegistry.get(StockPipelineMetrics.TIMER_NAME)
+                .tags("stage", "end-to-end", "topic", "order-created").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("배치 리스너: 배치의 레코드마다 대기 시간과 end-to-end 지연을 기록한다. 실패한 배치도 기록한다.")
+    void batchInterceptor_RecordsEveryRecord() {
+        // given
+        long now = System.currentTimeMillis();
+        ConsumerRecords<Object, Object> records = new ConsumerRecords<>(Map.of(
+                new TopicPartition("order-created", 0), List.of(
+                        record("order-created", now, TraceContext.newTraceparent(), now - 10),
+                        record("order-created", now, TraceContext.newTraceparent(), now - 10))));
+
+        // when
+        interceptor.intercept(records, consumer);
+        interceptor.failure(records, new IllegalStateException("Redis 연결 실패"), consumer);
+
+        // then
+        assertThat(timerCount("queue", "order-created")).isEqualTo(2);
+        assertThat(timerCount("end-to-end", "order-created")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("추적 헤더가 없는 레코드(상품 이벤트 등)는 주문 파이프라인 지표에 기록하지 않는다.")
+    void recordInterceptor_IgnoresUntracedRecords() {
+        // given
+        ConsumerRecord<Object, Object> record = record("product-created", System.currentTimeMillis(), null, null);
+
+        // when
+        interceptor.intercept(record, consumer);
+        interceptor.afterRecord(record, consumer);
+
+        // then
+        assertThat(meterRegistry.find(StockPipelineMetrics.TIMER_NAME).timers()).isEmpty();
+        assertThat(MDC.get(PipelineTraceInterceptor.TRACE_ID_MDC_KEY)).isNull();
+    }
+}
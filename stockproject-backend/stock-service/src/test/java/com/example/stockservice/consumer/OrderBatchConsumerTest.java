@@ -0,0 +1,114 @@
+package com.example.stockservice.consumer;
+
+import com.example.dto.OrderCancelledEvent;
+import com.example.dto.OrderCreatedEvent;
+import com.example.dto.OrderItemPayload;
+import com.example.dto.OrderPaidEvent;
+import com.example.stockservice.repository.StockMutation;
+import com.example.stockservice.repository.StockMutationResult;
+import com.example.stockservice.service.StockService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchConsumerTest {
+
+    @InjectMocks
+    private OrderBatchConsumer orderBatchConsumer;
+
+    @Mock
+    private StockService stockService;
+
+    @Test
+    @DisplayName("배치 이벤트: 성공 - poll 한 번의 생성/취소 이벤트를 모아 재고 서비스를 한 번만 호출한다.")
+    void listenOrderEvents_AppliesWholeBatchOnce() {
+        // given
+        OrderItemPayload item = new OrderItemPayload("product-id-101", 2, 10000L);
+        OrderCreatedEvent created1 = new OrderCreatedEvent("order-1", 1L, 20000L, LocalDateTime.now(), List.of(item));
+        OrderCreatedEvent created2 = new OrderCreatedEvent("order-2", 1L, 20000L, LocalDateTime.now(), List.of(item));
+        OrderCancelledEvent cancelled = new OrderCancelledEvent("order-0", 1L, 20000L, LocalDateTime.now(), List.of(item));
+
+        when(stockService.applyInBatch(anyList())).thenReturn(List.of(
+                StockMutationResult.success(),
+                new StockMutationResult(StockMutationResult.Status.INSUFFICIENT_STOCK, "product-id-101"),
+                StockMutationResult.success()));
+
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("order-created", created1),
+                record("order-created", created2),
+                record("order-cancelled", cancelled));
+
+        // when
+        orderBatchConsumer.listenOrderEvents(records);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockMutation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stockService, times(1)).applyInBatch(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                StockMutation.decrease(created1),
+                StockMutation.decrease(created2),
+                StockMutation.increase(cancelled));
+    }
+
+    @Test
+    @DisplayName("배치 이벤트: 실패 - 역직렬화에 실패한 레코드(value 가 null)만 제외하고 나머지는 처리한다.")
+    void listenOrderEvents_SkipsInvalidRecord() {
+        // given
+        OrderItemPayload item = new OrderItemPayload("product-id-101", 2, 10000L);
+        OrderCreatedEvent created = new OrderCreatedEvent("order-1", 1L, 20000L, LocalDateTime.now(), List.of(item));
+
+        when(stockService.applyInBatch(anyList())).thenReturn(List.of(StockMutationResult.success()));
+
+        // when
+        orderBatchConsumer.listenOrderEvents(List.of(
+                record("order-created", null),
+                record("order-created", created)));
+
+        // then
+        verify(stockService).applyInBatch(List.of(StockMutation.decrease(created)));
+    }
+
+    @Test
+    @DisplayName("배치 이벤트: 실패 - 늦은 결제 확정이 실패하면 그 레코드를 담아 에러 핸들러로 넘긴다.")
+    void listenOrderEvents_FailedConfirm_ThrowsWithRecord() {
+        // given
+        OrderItemPayload item = new OrderItemPayload("product-id-101", 2, 10000L);
+        OrderCreatedEvent created = new OrderCreatedEvent("order-1", 1L, 20000L, LocalDateTime.now(), List.of(item));
+        OrderPaidEvent paid = new OrderPaidEvent("order-0", 1L, LocalDateTime.now(), List.of(item));
+        StockMutationResult reclaimFailed =
+                new StockMutationResult(StockMutationResult.Status.INSUFFICIENT_STOCK, "product-id-101");
+
+        when(stockService.applyInBatch(anyList())).thenReturn(List.of(StockMutationResult.success(), reclaimFailed));
+        doThrow(new IllegalStateException("재고가 부족합니다."))
+                .when(stockService).checkConfirmed(StockMutation.confirm(paid), reclaimFailed);
+
+        ConsumerRecord<String, Object> paidRecord = record("order-stock-events", paid);
+
+        // when & then
+        assertThatThrownBy(() -> orderBatchConsumer.listenOrderEvents(List.of(
+                record("order-stock-events", created), paidRecord)))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(e -> assertThat(((BatchListenerFailedException) e).getRecord()).isSameAs(paidRecord))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private ConsumerRecord<String, Object> record(String topic, Object value) {
+        return new ConsumerRecord<>(topic, 0, 0L, null, value);
+    }
+}
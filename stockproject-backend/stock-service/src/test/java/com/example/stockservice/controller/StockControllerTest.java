@@ -0,0 +1,62 @@
+package com.example.stockservice.controller;
+
+import com.example.stockservice.service.StockService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = StockController.class,
+        properties = {"spring.cloud.bootstrap.enabled=false", "spring.cloud.config.enabled=false"})
+class StockControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StockService stockService;
+
+    @Test
+    @DisplayName("GET /api/v1/stock/{productId} 요청 시, 판매 가능 수량을 반환하고 재고 정보가 없으면 404를 반환한다.")
+    void findStock() throws Exception {
+        // given
+        when(stockService.getAvailableQuantities(List.of("product-id-101"))).thenReturn(Map.of("product-id-101", 7L));
+        when(stockService.getAvailableQuantities(List.of("product-id-999"))).thenReturn(Map.of());
+
+        // when & then
+        mockMvc.perform(get("/api/v1/stock/product-id-101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value("product-id-101"))
+                .andExpect(jsonPath("$.quantity").value(7));
+        mockMvc.perform(get("/api/v1/stock/product-id-999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/stock/list?ids= 요청 시, 재고 정보가 있는 상품의 수량 목록을 반환한다.")
+    void findStocks() throws Exception {
+        // given
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        quantities.put("product-id-101", 7L);
+        quantities.put("product-id-102", 0L);
+        when(stockService.getAvailableQuantities(List.of("product-id-101", "product-id-102", "product-id-999")))
+                .thenReturn(quantities);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/stock/list").param("ids", "product-id-101,product-id-102,product-id-999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productId").value("product-id-101"))
+                .andExpect(jsonPath("$[1].quantity").value(0));
+    }
+}
@@ -0,0 +1,446 @@
+package com.example.stockservice.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 내장 Redis에 실제 Lua 스크립트를 실행하여 동시 차감 시 초과 판매가 없는지, 배치 적용이 왕복 한 번인지 검증합니다.
+class StockReservationEngineTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockReservationEngine stockReservationEngine;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port = findFreePort();
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        // 운영 설정(RedisConfig)처럼 파이프라인 명령을 모아서 보냅니다. 작은 값으로 파이프라인 중간 전송도 함께 확인합니다.
+        connectionFactory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.buffered(2));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+        meterRegistry = new SimpleMeterRegistry();
+        stockReservationEngine = engine(new AvailabilityReadTemplate(redisTemplate, ""));
+        stockReservationEngine.loadScripts();
+    }
+
+    @Test
+    @DisplayName("동시 차감: 하나의 인기 상품에 여러 스레드가 동시에 주문해도 재고 이상으로 판매되지 않는다.")
+    void decrease_HotProduct_NoOverselling() throws Exception {
+        // given
+        String productId = "hot-product";
+        long initialStock = 100;
+        int threads = 32;
+        int attemptsPerThread = 20; // 총 640건의 주문 시도
+        putStock(productId, initialStock);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    StockMutationResult result = stockReservationEngine.decrease(Map.of(productId, 1L));
+                    if (result.isSuccess()) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(initialStock);
+        assertThat(rejected.get()).isEqualTo(threads * attemptsPerThread - initialStock);
+        assertThat(quantityOf(productId)).isZero();
+    }
+
+    @Test
+    @DisplayName("원자적 차감: 여러 상품 중 하나라도 재고가 부족하면 어떤 상품도 차감되지 않는다.")
+    void decrease_OneItemInsufficient_NothingChanges() {
+        // given
+        putStock("product-a", 10);
+        putStock("product-b", 1);
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        quantities.put("product-a", 3L);
+        quantities.put("product-b", 2L);
+
+        // when
+        StockMutationResult result = stockReservationEngine.decrease(quantities);
+
+        // then
+        assertThat(result.status()).isEqualTo(StockMutationResult.Status.INSUFFICIENT_STOCK);
+        assertThat(result.productId()).isEqualTo("product-b");
+        assertThat(quantityOf("product-a")).isEqualTo(10L);
+        assertThat(quantityOf("product-b")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("원자적 복구: 재고 정보가 없는 상품이 있으면 어떤 상품도 복구되지 않는다.")
+    void increase_UnknownProduct_NothingChanges() {
+        // given
+        putStock("product-a", 10);
+        Map<String, Long> quantities = new LinkedHashMap<>();
+        quantities.put("product-a", 3L);
+        quantities.put("unknown-product", 2L);
+
+        // when
+        StockMutationResult result = stockReservationEngine.increase(quantities);
+
+        // then
+        assertThat(result.status()).isEqualTo(StockMutationResult.Status.STOCK_NOT_FOUND);
+        assertThat(result.productId()).isEqualTo("unknown-product");
+        assertThat(quantityOf("product-a")).isEqualTo(10L);
+    }
+
+    @ParameterizedTest(name = "주문 {0}건")
+    @ValueSource(ints = {1, 10, 100, 500})
+    @DisplayName("배치 적용: 배치 크기와 관계없이 Redis 스크립트 호출은 한 번이다.")
+    void applyBatch_RoundTripsStayConstant(int orderCount) {
+        // given
+        putStock("product-a", 1_000_000);
+        putStock("product-b", 1_000_000);
+        List<StockMutation> mutations = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            Map<String, Long> quantities = new LinkedHashMap<>();
+            quantities.put("product-a", 1L);
+            quantities.put("product-b", 2L);
+            mutations.add(new StockMutation("order-" + i, StockMutation.Type.DECREASE, quantities));
+        }
+        resetCommandStats();
+
+        // when
+        List<StockMutationResult> results = stockReservationEngine.applyBatch(mutations);
+
+        // then
+        assertThat(results).hasSize(orderCount).allMatch(StockMutationResult::isSuccess);
+        assertThat(scriptCalls()).isEqualTo(1);
+        assertThat(quantityOf("product-a")).isEqualTo(1_000_000 - orderCount);
+    }
+
+    @Test
+    @DisplayName("배치 적용: 실패한 주문만 반영되지 않고 같은 배치의 다른 주문은 반영된다.")
+    void applyBatch_FailureIsIsolatedPerOrder() {
+        // given
+        putStock("product-a", 5);
+        List<StockMutation> mutations = List.of(
+                new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 3L)),
+                new StockMutation("order-2", StockMutation.Type.DECREASE, Map.of("product-a", 3L)), // 남은 재고 2개로 부족
+                new StockMutation("order-3", StockMutation.Type.DECREASE, Map.of("unknown-product", 1L)),
+                new StockMutation(null, StockMutation.Type.INCREASE, Map.of("product-a", 1L)) // 주문 ID 없는 단순 복구
+        );
+
+        // when
+        List<StockMutationResult> results = stockReservationEngine.applyBatch(mutations);
+
+        // then
+        assertThat(results).extracting(StockMutationResult::status).containsExactly(
+                StockMutationResult.Status.SUCCESS,
+                StockMutationResult.Status.INSUFFICIENT_STOCK,
+                StockMutationResult.Status.STOCK_NOT_FOUND,
+                StockMutationResult.Status.SUCCESS);
+        assertThat(results.get(2).productId()).isEqualTo("unknown-product");
+        assertThat(quantityOf("product-a")).isEqualTo(3L); // 5 - 3 + 1
+    }
+
+    @Test
+    @DisplayName("중복 제거: 같은 주문 이벤트가 재전달되어도 재고에는 한 번만 반영된다.")
+    void apply_Redelivered_AppliedOnce() {
+        // given
+        putStock("product-a", 10);
+        StockMutation created = new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 3L));
+        StockMutation cancelled = new StockMutation("order-1", StockMutation.Type.INCREASE, Map.of("product-a", 3L));
+
+        // when
+        StockMutationResult first = stockReservationEngine.apply(created);
+        StockMutationResult redelivered = stockReservationEngine.apply(created);
+        StockMutationResult cancel = stockReservationEngine.apply(cancelled);
+        StockMutationResult cancelRedelivered = stockReservationEngine.apply(cancelled);
+
+        // then
+        assertThat(first.status()).isEqualTo(StockMutationResult.Status.SUCCESS);
+        assertThat(redelivered.status()).isEqualTo(StockMutationResult.Status.DUPLICATE);
+        assertThat(cancel.status()).isEqualTo(StockMutationResult.Status.SUCCESS);
+        assertThat(cancelRedelivered.status()).isEqualTo(StockMutationResult.Status.DUPLICATE);
+        assertThat(quantityOf("product-a")).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("중복 제거: 한 배치 안에 같은 주문이 두 번 들어와도 한 번만 반영되고, 실패한 주문은 기록되지 않는다.")
+    void applyBatch_DuplicateInSameBatch_AppliedOnce() {
+        // given
+        putStock("product-a", 5);
+        StockMutation created = new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 2L));
+        StockMutation tooLarge = new StockMutation("order-2", StockMutation.Type.DECREASE, Map.of("product-a", 100L));
+
+        // when
+        List<StockMutationResult> results = stockReservationEngine.applyBatch(List.of(created, tooLarge, created));
+        putStock("product-a", 200); // 재고가 채워진 뒤 재전달된 order-2 는 다시 시도됩니다.
+        StockMutationResult retried = stockReservationEngine.apply(tooLarge);
+
+        // then
+        assertThat(results).extracting(StockMutationResult::status).containsExactly(
+                StockMutationResult.Status.SUCCESS,
+                StockMutationResult.Status.INSUFFICIENT_STOCK,
+                StockMutationResult.Status.DUPLICATE);
+        assertThat(retried.status()).isEqualTo(StockMutationResult.Status.SUCCESS);
+        assertThat(quantityOf("product-a")).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("중복 제거: 처리 기록은 TTL 을 가지고 저장되어 일정 기간 후 정리된다.")
+    void apply_LedgerHasTtl() {
+        // given
+        putStock("product-a", 10);
+
+        // when
+        stockReservationEngine.apply(new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 1L)));
+
+        // then
+        Long ttlSeconds = redisTemplate.getExpire(StockReservationEngine.LEDGER_KEY_PREFIX + "order-1:decrease");
+        assertThat(ttlSeconds).isBetween(Duration.ofDays(7).toSeconds() - 60, Duration.ofDays(7).toSeconds());
+    }
+
+    @Test
+    @DisplayName("재고 예약: 결제 확정도 취소도 없이 TTL 이 지나면 스위퍼가 예약을 풀어 재고를 복구한다.")
+    void releaseExpired_RestoresUnpaidReservations() {
+        // given
+        putStock("product-a", 10);
+        putStock("product-b", 10);
+        stockReservationEngine.apply(new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 3L, "product-b", 1L)));
+        stockReservationEngine.apply(new StockMutation("order-2", StockMutation.Type.DECREASE, Map.of("product-a", 2L)));
+        stockReservationEngine.apply(new StockMutation("order-3", StockMutation.Type.DECREASE, Map.of("product-a", 1L)));
+        stockReservationEngine.apply(new StockMutation("order-2", StockMutation.Type.CONFIRM, Map.of())); // 결제 완료
+        stockReservationEngine.apply(new StockMutation("order-3", StockMutation.Type.INCREASE, Map.of("product-a", 1L))); // 취소
+
+        // when
+        List<StockMutation> releasedBeforeExpiry = stockReservationEngine.releaseExpired(Instant.now());
+        List<StockMutation> released = stockReservationEngine.releaseExpired(Instant.now().plus(Duration.ofMinutes(21)));
+        List<StockMutation> releasedAgain = stockReservationEngine.releaseExpired(Instant.now().plus(Duration.ofMinutes(22)));
+
+        // then
+        assertThat(releasedBeforeExpiry).isEmpty();
+        assertThat(released).extracting(StockMutation::orderId).containsExactly("order-1"); // order-1 만 만료
+        assertThat(released.get(0).quantities()).containsEntry("product-a", 3L).containsEntry("product-b", 1L);
+        assertThat(releasedAgain).isEmpty();
+        assertThat(quantityOf("product-a")).isEqualTo(8L); // 결제된 order-2 의 2개만 차감된 상태
+        assertThat(quantityOf("product-b")).isEqualTo(10L);
+        assertThat(redisTemplate.keys(StockReservationEngine.RESERVATION_KEY_PREFIX + "*")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재고 예약: 예약이 없는 주문(만료되었거나 예약에 실패한 주문)의 취소와 확정은 재고를 바꾸지 않는다.")
+    void cancelOrConfirm_WithoutReservation_NothingChanges() {
+        // given
+        putStock("product-a", 2);
+        StockMutationResult reserveFailed = stockReservationEngine.apply(
+                new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 5L)));
+        stockReservationEngine.apply(new StockMutation("order-2", StockMutation.Type.DECREASE, Map.of("product-a", 1L)));
+        stockReservationEngine.releaseExpired(Instant.now().plus(Duration.ofMinutes(21)));
+
+        // when
+        StockMutationResult cancelFailed = stockReservationEngine.apply(
+                new StockMutation("order-1", StockMutation.Type.INCREASE, Map.of("product-a", 5L)));
+        StockMutationResult cancelExpired = stockReservationEngine.apply(
+                new StockMutation("order-2", StockMutation.Type.INCREASE, Map.of("product-a", 1L)));
+        StockMutationResult confirmExpired = stockReservationEngine.apply(
+                new StockMutation("order-2", StockMutation.Type.CONFIRM, Map.of()));
+
+        // then
+        assertThat(reserveFailed.status()).isEqualTo(StockMutationResult.Status.INSUFFICIENT_STOCK);
+        assertThat(cancelFailed.status()).isEqualTo(StockMutationResult.Status.NOT_RESERVED);
+        assertThat(cancelExpired.status()).isEqualTo(StockMutationResult.Status.NOT_RESERVED);
+        assertThat(confirmExpired.status()).isEqualTo(StockMutationResult.Status.NOT_RESERVED);
+        assertThat(quantityOf("product-a")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("늦은 결제 확정: 예약이 이미 풀렸으면 주문 상품만큼 다시 차감해 확정하고, 재전달이나 늦은 주문 생성 이벤트는 다시 차감하지 않는다.")
+    void confirm_AfterExpiry_ReclaimsStock() {
+        // given
+        putStock("product-a", 5);
+        stockReservationEngine.apply(new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 2L)));
+        stockReservationEngine.releaseExpired(Instant.now().plus(Duration.ofMinutes(21)));
+        StockMutation lateConfirm = new StockMutation("order-1", StockMutation.Type.CONFIRM, Map.of("product-a", 2L));
+
+        // when
+        StockMutationResult reclaimed = stockReservationEngine.apply(lateConfirm);
+        StockMutationResult redelivered = stockReservationEngine.apply(lateConfirm);
+
+        // then
+        assertThat(reclaimed.status()).isEqualTo(StockMutationResult.Status.RECLAIMED);
+        assertThat(reclaimed.isSuccess()).isTrue();
+        assertThat(redelivered.status()).isEqualTo(StockMutationResult.Status.DUPLICATE);
+        assertThat(quantityOf("product-a")).isEqualTo(3L);
+
+        // 주문 생성 이벤트보다 결제 이벤트가 먼저 처리된 경우
+        putStock("product-b", 5);
+        stockReservationEngine.apply(new StockMutation("order-2", StockMutation.Type.CONFIRM, Map.of("product-b", 1L)));
+        StockMutationResult lateCreate = stockReservationEngine.apply(
+                new StockMutation("order-2", StockMutation.Type.DECREASE, Map.of("product-b", 1L)));
+        assertThat(lateCreate.status()).isEqualTo(StockMutationResult.Status.DUPLICATE);
+        assertThat(quantityOf("product-b")).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("늦은 결제 확정: 다시 차감할 재고가 부족하면 재고 부족으로 실패하고, 재고가 채워진 뒤 재시도하면 확정된다.")
+    void confirm_AfterExpiry_InsufficientStock() {
+        // given
+        putStock("product-a", 2);
+        stockReservationEngine.apply(new StockMutation("order-1", StockMutation.Type.DECREASE, Map.of("product-a", 2L)));
+        stockReservationEngine.releaseExpired(Instant.now().plus(Duration.ofMinutes(21)));
+        stockReservationEngine.decrease(Map.of("product-a", 1L)); // 풀린 재고가 다른 주문에 팔림
+        StockMutation lateConfirm = new StockMutation("order-1", StockMutation.Type.CONFIRM, Map.of("product-a", 2L));
+
+        // when
+        StockMutationResult failed = stockReservationEngine.apply(lateConfirm);
+        stockReservationEngine.increase(Map.of("product-a", 1L));
+        StockMutationResult retried = stockReservationEngine.apply(lateConfirm);
+
+        // then
+        assertThat(failed.status()).isEqualTo(StockMutationResult.Status.INSUFFICIENT_STOCK);
+        assertThat(retried.status()).isEqualTo(StockMutationResult.Status.RECLAIMED);
+        assertThat(quantityOf("product-a")).isZero();
+    }
+
+    @Test
+    @DisplayName("재고 일괄 조회: 여러 상품을 파이프라인 한 번으로 읽고 없는 상품은 빠진다.")
+    void getQuantities_Pipelined() {
+        // given
+        putStock("product-a", 7);
+        putStock("product-b", 0);
+
+        // when
+        Map<String, Long> quantities = stockReservationEngine.getQuantities(
+                List.of("product-a", "unknown-product", "product-b", "product-a"));
+
+        // then
+        assertThat(quantities).containsExactly(
+                Map.entry("product-a", 7L),
+                Map.entry("product-b", 0L));
+        // 중복을 뺀 3개(product-a, unknown-product, product-b)의 HGET 을 파이프라인 한 번으로 보냈습니다.
+        DistributionSummary depth = meterRegistry.get("stock.redis.pipeline.depth").tag("operation", "availability-read").summary();
+        assertThat(depth.count()).isEqualTo(1);
+        assertThat(depth.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재고 일괄 조회: 레플리카 읽기를 켜면 별도 연결로 읽고, 레플리카가 없으면 마스터에서 읽는다.")
+    void getQuantities_ReplicaPreferred() {
+        // given
+        putStock("product-a", 7);
+        AvailabilityReadTemplate replicaReads = new AvailabilityReadTemplate(redisTemplate, "replicaPreferred");
+        try {
+            StockReservationEngine engine = engine(replicaReads);
+
+            // when
+            Map<String, Long> quantities = engine.getQuantities(List.of("product-a", "unknown-product"));
+
+            // then
+            assertThat(replicaReads.template()).isNotSameAs(redisTemplate);
+            assertThat(quantities).containsExactly(Map.entry("product-a", 7L));
+        } finally {
+            replicaReads.destroy();
+        }
+    }
+
+    private StockReservationEngine engine(AvailabilityReadTemplate availabilityReadTemplate) {
+        return new StockReservationEngine(redisTemplate, availabilityReadTemplate, meterRegistry, Duration.ofDays(7), Duration.ofMinutes(20), Duration.ofSeconds(10));
+    }
+
+    private void resetCommandStats() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().resetConfigStats();
+            return null;
+        });
+    }
+
+    // EVAL / EVALSHA 호출 횟수 = 스크립트 실행을 위한 Redis 왕복 횟수
+    private long scriptCalls() {
+        Properties stats = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("commandstats"));
+        long calls = 0;
+        for (String command : List.of("cmdstat_eval", "cmdstat_evalsha")) {
+            String value = stats.getProperty(command);
+            if (value != null) {
+                calls += Long.parseLong(value.split(",")[0].substring("calls=".length()));
+            }
+        }
+        return calls;
+    }
+
+    private void putStock(String productId, long quantity) {
+        redisTemplate.opsForHash().put(StockReservationEngine.KEY_PREFIX + productId, "quantity", String.valueOf(quantity));
+    }
+
+    private long quantityOf(String productId) {
+        Object quantity = redisTemplate.opsForHash().get(StockReservationEngine.KEY_PREFIX + productId, "quantity");
+        return Long.parseLong((String) quantity);
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
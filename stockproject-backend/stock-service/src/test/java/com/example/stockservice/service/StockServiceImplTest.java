@@ -3,20 +3,28 @@ package com.example.stockservice.service;
 import com.example.dto.OrderCancelledEvent;
 import com.example.dto.OrderCreatedEvent;
 import com.example.dto.OrderItemPayload;
-import com.example.stockservice.domain.Stock;
-import com.example.stockservice.repository.StockRepository;
+import com.example.dto.OrderPaidEvent;
+import com.example.stockservice.cache.StockAvailabilityCache;
+import com.example.stockservice.config.StockPipelineMetrics;
+import com.example.stockservice.repository.StockMutation;
+import com.example.stockservice.repository.StockMutationResult;
+import com.example.stockservice.repository.StockReservationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -28,7 +36,15 @@ class StockServiceImplTest {
     private StockServiceImpl stockService;
 
     @Mock
-    private StockRepository stockRepository;
+    private StockReservationEngine stockReservationEngine;
+
+    @Spy
+    private StockAvailabilityCache stockAvailabilityCache = new StockAvailabilityCache(100, Duration.ofMinutes(1));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private StockPipelineMetrics pipelineMetrics = new StockPipelineMetrics(meterRegistry);
 
     @Test
     @DisplayName("재고 차감: 성공 - 주문 생성 이벤트를 받아 재고를 성공적으로 차감한다.")
@@ -48,16 +64,15 @@ class StockServiceImplTest {
                 List.of(orderItem)
         );
         
-        Stock stock = new Stock(productId, 10L);
-        when(stockRepository.findById(productId)).thenReturn(Optional.of(stock));
-        when(stockRepository.save(any(Stock.class))).thenReturn(stock);
+        when(stockReservationEngine.apply(decrease(Map.of(productId, 2L)))).thenReturn(StockMutationResult.success());
         
         // when
         stockService.decreaseStock(event);
         
         // then
-        assertThat(stock.getQuantity()).isEqualTo(8L); // 10 - 2 = 8
-        verify(stockRepository).save(stock);
+        verify(stockReservationEngine).apply(decrease(Map.of(productId, 2L)));
+        assertThat(meterRegistry.get(StockPipelineMetrics.TIMER_NAME)
+                .tags("stage", "redis-apply", "topic", "order-created").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -78,14 +93,13 @@ class StockServiceImplTest {
                 List.of(orderItem)
         );
         
-        when(stockRepository.findById(productId)).thenReturn(Optional.empty());
+        when(stockReservationEngine.apply(decrease(Map.of(productId, 2L))))
+                .thenReturn(new StockMutationResult(StockMutationResult.Status.STOCK_NOT_FOUND, productId));
         
         // when & then
         assertThatThrownBy(() -> stockService.decreaseStock(event))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("상품에 대한 재고 정보가 없습니다.");
-        
-        verify(stockRepository, never()).save(any(Stock.class));
     }
 
     @Test
@@ -106,15 +120,14 @@ class StockServiceImplTest {
                 List.of(orderItem)
         );
         
-        Stock stock = new Stock(productId, 10L); // 재고는 10개
-        when(stockRepository.findById(productId)).thenReturn(Optional.of(stock));
+        // 재고는 10개
+        when(stockReservationEngine.apply(decrease(Map.of(productId, 20L))))
+                .thenReturn(new StockMutationResult(StockMutationResult.Status.INSUFFICIENT_STOCK, productId));
         
         // when & then
         assertThatThrownBy(() -> stockService.decreaseStock(event))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("재고가 부족합니다");
-        
-        verify(stockRepository, never()).save(any(Stock.class));
     }
 
     @Test
@@ -135,16 +148,13 @@ class StockServiceImplTest {
                 List.of(orderItem)
         );
         
-        Stock stock = new Stock(productId, 8L);
-        when(stockRepository.findById(productId)).thenReturn(Optional.of(stock));
-        when(stockRepository.save(any(Stock.class))).thenReturn(stock);
+        when(stockReservationEngine.apply(increase(Map.of(productId, 2L)))).thenReturn(StockMutationResult.success());
         
         // when
         stockService.increaseStock(event);
         
         // then
-        assertThat(stock.getQuantity()).isEqualTo(10L); // 8 + 2 = 10
-        verify(stockRepository).save(stock);
+        verify(stockReservationEngine).apply(increase(Map.of(productId, 2L)));
     }
 
     @Test
@@ -165,14 +175,13 @@ class StockServiceImplTest {
                 List.of(orderItem)
         );
         
-        when(stockRepository.findById(productId)).thenReturn(Optional.empty());
+        when(stockReservationEngine.apply(increase(Map.of(productId, 2L))))
+                .thenReturn(new StockMutationResult(StockMutationResult.Status.STOCK_NOT_FOUND, productId));
         
         // when & then
         assertThatThrownBy(() -> stockService.increaseStock(event))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("상품에 대한 재고 정보가 없습니다.");
-        
-        verify(stockRepository, never()).save(any(Stock.class));
     }
 
     @Test
@@ -206,27 +215,172 @@ class StockServiceImplTest {
                 List.of(orderItem1, orderItem2)
         );
         
-        Stock stock1 = new Stock(productId1, 10L);
-        Stock stock2 = new Stock(productId2, 15L);
-        
-        when(stockRepository.findById(productId1)).thenReturn(Optional.of(stock1));
-        when(stockRepository.findById(productId2)).thenReturn(Optional.of(stock2));
-        when(stockRepository.save(any(Stock.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Map<String, Long> quantities = Map.of(productId1, 2L, productId2, 3L);
+        when(stockReservationEngine.apply(decrease(quantities))).thenReturn(StockMutationResult.success());
+        when(stockReservationEngine.apply(increase(quantities))).thenReturn(StockMutationResult.success());
         
         // when - decrease
         stockService.decreaseStock(createEvent);
         
-        // then - decrease
-        assertThat(stock1.getQuantity()).isEqualTo(8L); // 10 - 2 = 8
-        assertThat(stock2.getQuantity()).isEqualTo(12L); // 15 - 3 = 12
-        verify(stockRepository, times(2)).save(any(Stock.class));
+        // then - decrease (두 상품을 한 번의 호출로 차감)
+        verify(stockReservationEngine, times(1)).apply(decrease(quantities));
         
         // when - increase
         stockService.increaseStock(cancelEvent);
         
         // then - increase
-        assertThat(stock1.getQuantity()).isEqualTo(10L); // 8 + 2 = 10
-        assertThat(stock2.getQuantity()).isEqualTo(15L); // 12 + 3 = 15
-        verify(stockRepository, times(4)).save(any(Stock.class));
+        verify(stockReservationEngine, times(1)).apply(increase(quantities));
+    }
+
+    @Test
+    @DisplayName("재고 차감: 성공 - 같은 상품이 여러 줄로 들어오면 수량을 합산하여 한 번에 차감한다.")
+    void decreaseStock_MergesDuplicateProducts() {
+        // given
+        String productId = "product-id-101";
+        OrderCreatedEvent event = new OrderCreatedEvent(
+                "order-id-101",
+                1L, // userId
+                50000L, // totalPrice
+                LocalDateTime.now(),
+                List.of(new OrderItemPayload(productId, 2, 10000L), new OrderItemPayload(productId, 3, 10000L))
+        );
+        when(stockReservationEngine.apply(decrease(Map.of(productId, 5L)))).thenReturn(StockMutationResult.success());
+
+        // when
+        stockService.decreaseStock(event);
+
+        // then
+        verify(stockReservationEngine).apply(decrease(Map.of(productId, 5L)));
+    }
+
+    @Test
+    @DisplayName("재고 차감: 성공 - 이미 반영된 주문 이벤트가 재전달되면 예외 없이 건너뛴다.")
+    void decreaseStock_Duplicate_Ignored() {
+        // given
+        String productId = "product-id-101";
+        OrderCreatedEvent event = new OrderCreatedEvent(
+                "order-id-101",
+                1L, // userId
+                20000L, // totalPrice
+                LocalDateTime.now(),
+                List.of(new OrderItemPayload(productId, 2, 10000L))
+        );
+        when(stockReservationEngine.apply(decrease(Map.of(productId, 2L)))).thenReturn(StockMutationResult.duplicate());
+
+        // when & then
+        assertThatCode(() -> stockService.decreaseStock(event)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("재고 예약 확정: 성공 - 주문 결제 이벤트를 받아 예약을 확정한다.")
+    void confirmStock_Success() {
+        // given
+        OrderPaidEvent event = new OrderPaidEvent("order-id-101", 1L, LocalDateTime.now(),
+                List.of(new OrderItemPayload("product-id-101", 2, 10000L)));
+        StockMutation confirm = new StockMutation("order-id-101", StockMutation.Type.CONFIRM, Map.of("product-id-101", 2L));
+        when(stockReservationEngine.apply(confirm)).thenReturn(StockMutationResult.success());
+
+        // when
+        stockService.confirmStock(event);
+
+        // then
+        verify(stockReservationEngine).apply(confirm);
+        assertThat(meterRegistry.find("stock.confirm.late").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("재고 예약 확정: 성공 - 예약이 이미 풀렸으면 다시 차감해 확정하고 늦은 확정 지표를 남긴다.")
+    void confirmStock_ReservationExpired_Reclaimed() {
+        // given
+        OrderPaidEvent event = new OrderPaidEvent("order-id-101", 1L, LocalDateTime.now(),
+                List.of(new OrderItemPayload("product-id-101", 2, 10000L)));
+        when(stockReservationEngine.apply(any(StockMutation.class))).thenReturn(StockMutationResult.reclaimed());
+
+        // when & then
+        assertThatCode(() -> stockService.confirmStock(event)).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("stock.confirm.late").tag("result", "reclaimed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("재고 예약 확정: 실패 - 예약이 풀린 뒤 다시 차감할 재고가 부족하면 재시도할 예외가 발생하고 실패 지표를 남긴다.")
+    void confirmStock_Fail_ReclaimInsufficient() {
+        // given
+        OrderPaidEvent event = new OrderPaidEvent("order-id-101", 1L, LocalDateTime.now(),
+                List.of(new OrderItemPayload("product-id-101", 2, 10000L)));
+        when(stockReservationEngine.apply(any(StockMutation.class)))
+                .thenReturn(new StockMutationResult(StockMutationResult.Status.INSUFFICIENT_STOCK, "product-id-101"));
+
+        // when & then
+        assertThatThrownBy(() -> stockService.confirmStock(event))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("예약이 만료된 결제 주문의 재고를 다시 차감하지 못했습니다.");
+        assertThat(meterRegistry.get("stock.confirm.late").tag("result", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("재고 예약 확정: 실패 - 상품 정보가 없는 이전 메시지는 예약이 이미 만료되었으면 예외가 발생한다.")
+    void confirmStock_Fail_ReservationExpired() {
+        // given
+        OrderPaidEvent event = new OrderPaidEvent("order-id-101", 1L, LocalDateTime.now(), null);
+        when(stockReservationEngine.apply(any(StockMutation.class))).thenReturn(StockMutationResult.notReserved());
+
+        // when & then : 다시 처리해도 같은 결과이므로 재시도 없이 DLT 로 가는 예외입니다.
+        assertThatThrownBy(() -> stockService.confirmStock(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("확정할 재고 예약이 없습니다.");
+    }
+
+    @Test
+    @DisplayName("재고 예약 확정: 실패 - 예약이 풀린 뒤 다시 차감할 재고 정보가 없으면 재시도하지 않는 예외가 발생한다.")
+    void confirmStock_Fail_ReclaimStockNotFound() {
+        // given
+        OrderPaidEvent event = new OrderPaidEvent("order-id-101", 1L, LocalDateTime.now(),
+                List.of(new OrderItemPayload("product-id-101", 2, 10000L)));
+        when(stockReservationEngine.apply(any(StockMutation.class)))
+                .thenReturn(new StockMutationResult(StockMutationResult.Status.STOCK_NOT_FOUND, "product-id-101"));
+
+        // when & then
+        assertThatThrownBy(() -> stockService.confirmStock(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("product-id-101");
+        assertThat(meterRegistry.get("stock.confirm.late").tag("result", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("재고 조회: near-cache 에 없는 상품만 Redis 에서 읽고, 재고 차감 후에는 해당 상품을 다시 읽는다.")
+    void getAvailableQuantities_NearCacheInvalidatedByDecrease() {
+        // given
+        when(stockReservationEngine.getQuantities(List.of("product-id-101", "product-id-102")))
+                .thenReturn(Map.of("product-id-101", 10L, "product-id-102", 5L));
+        when(stockReservationEngine.getQuantities(List.of("product-id-101"))).thenReturn(Map.of("product-id-101", 8L));
+        when(stockReservationEngine.apply(decrease(Map.of("product-id-101", 2L)))).thenReturn(StockMutationResult.success());
+        OrderCreatedEvent event = new OrderCreatedEvent(
+                "order-id-101",
+                1L, // userId
+                20000L, // totalPrice
+                LocalDateTime.now(),
+                List.of(new OrderItemPayload("product-id-101", 2, 10000L))
+        );
+
+        // when
+        Map<String, Long> first = stockService.getAvailableQuantities(List.of("product-id-101", "product-id-102"));
+        Map<String, Long> cached = stockService.getAvailableQuantities(List.of("product-id-102", "product-id-101"));
+        stockService.decreaseStock(event);
+        Map<String, Long> afterDecrease = stockService.getAvailableQuantities(List.of("product-id-101", "product-id-102"));
+
+        // then
+        assertThat(first).containsExactly(Map.entry("product-id-101", 10L), Map.entry("product-id-102", 5L));
+        assertThat(cached).containsExactly(Map.entry("product-id-102", 5L), Map.entry("product-id-101", 10L));
+        assertThat(afterDecrease).containsExactly(Map.entry("product-id-101", 8L), Map.entry("product-id-102", 5L));
+        verify(stockReservationEngine, times(1)).getQuantities(List.of("product-id-101", "product-id-102"));
+        verify(stockReservationEngine, times(1)).getQuantities(List.of("product-id-101"));
+    }
+
+    private StockMutation decrease(Map<String, Long> quantities) {
+        return new StockMutation("order-id-101", StockMutation.Type.DECREASE, quantities);
+    }
+
+    private StockMutation increase(Map<String, Long> quantities) {
+        return new StockMutation("order-id-101", StockMutation.Type.INCREASE, quantities);
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,25 @@
 package com.example.userservice.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
 
@@ -23,15 +29,38 @@ public class JwtTokenProvider {
     private final long expirationTime;
     private final UserDetailsService userDetailsService;
     private final Key key;
+    // 파서는 스레드 안전하므로 한 번만 만들어 재사용합니다.
+    private final JwtParser jwtParser;
+    // 검증이 끝난 토큰 -> 인증 정보. 각 항목은 토큰의 exp 시각과 user-details-ttl 중 먼저 오는 때에 만료됩니다.
+    // (인증 정보에 권한이 들어 있으므로 userDetailsCache 보다 오래 두면 권한 변경이 토큰 만료 때까지 반영되지 않습니다)
+    private final Cache<String, VerifiedToken> authenticationCache;
+    // email -> UserDetails. 권한 변경이 늦게 반영되는 시간을 줄이기 위해 짧게 유지합니다.
+    private final Cache<String, UserDetails> userDetailsCache;
 
+    public JwtTokenProvider(String secretKey, long expirationTime, UserDetailsService userDetailsService) {
+        this(secretKey, expirationTime, userDetailsService, 10_000, Duration.ofSeconds(30));
+    }
+
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secretKey,
             @Value("${jwt.expiration-time}") long expirationTime,
-            UserDetailsService userDetailsService) {
+            UserDetailsService userDetailsService,
+            @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${jwt.cache.user-details-ttl:30s}") Duration userDetailsTtl) {
         this.expirationTime = expirationTime;
         this.userDetailsService = userDetailsService;
         byte[] keyBytes = Base64.getDecoder().decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.authenticationCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry(userDetailsTtl))
+                .build();
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(userDetailsTtl)
+                .build();
     }
 
     public String generateToken(String email) {
@@ -46,21 +75,81 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    // ⭐️ 필터에서 사용하는 인증 경로. 서명 검증은 토큰당 한 번만 하고, 이후 요청은 캐시에서 바로 반환합니다.
+    // 유효하지 않은 토큰이거나 사용자가 없으면 null 을 반환합니다.
+    public Authentication resolveAuthentication(String token) {
+        VerifiedToken cached = authenticationCache.getIfPresent(token);
+        if (cached != null) {
+            return cached.authentication();
+        }
+
+        Claims claims;
+        try {
+            // parseClaimsJws 가 서명과 exp 를 함께 검증합니다. (만료 시 ExpiredJwtException)
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        try {
+            // Caffeine 의 get(key, loader) 는 compute 잠금(synchronized) 안에서 DB 를 조회해 가상 스레드를 캐리어에 고정(pinning)시키므로,
+            // 잠금 밖에서 조회해서 넣습니다. 같은 사용자의 동시 미스는 드물고, 중복 조회돼도 결과는 같습니다.
+            UserDetails userDetails = userDetailsCache.getIfPresent(claims.getSubject());
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                userDetailsCache.put(claims.getSubject(), userDetails);
+            }
+            Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+            authenticationCache.put(token, new VerifiedToken(authentication, claims.getExpiration().getTime()));
+            return authentication;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
     public Authentication getAuthentication(String token) {
         UserDetails userDetails = userDetailsService.loadUserByUsername(this.getEmailFromToken(token));
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return !claims.getBody().getExpiration().before(new Date());
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            return !claims.getExpiration().before(new Date());
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private record VerifiedToken(Authentication authentication, long expiresAtMillis) {
+    }
+
+    // 항목마다 토큰의 exp 까지 남은 시간만큼만, 단 maxTtl 을 넘지 않게 캐시에 둡니다.
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        private final long maxTtlNanos;
+
+        TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return Math.min(Duration.ofMillis(Math.max(remainingMillis, 0)).toNanos(), maxTtlNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -52,15 +52,13 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getAuthentication(token)).thenReturn(authentication);
+        when(jwtTokenProvider.resolveAuthentication(token)).thenReturn(authentication);
         
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         // then
-        verify(jwtTokenProvider).validateToken(token);
-        verify(jwtTokenProvider).getAuthentication(token);
+        verify(jwtTokenProvider).resolveAuthentication(token);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(authentication);
         verify(filterChain).doFilter(request, response);
     }
@@ -75,8 +73,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         // then
-        verify(jwtTokenProvider, never()).validateToken(anyString());
-        verify(jwtTokenProvider, never()).getAuthentication(anyString());
+        verify(jwtTokenProvider, never()).resolveAuthentication(anyString());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
@@ -93,8 +90,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         // then
-        verify(jwtTokenProvider, never()).validateToken(anyString());
-        verify(jwtTokenProvider, never()).getAuthentication(anyString());
+        verify(jwtTokenProvider, never()).resolveAuthentication(anyString());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
@@ -107,14 +103,13 @@ class JwtAuthenticationFilterTest {
         String bearerToken = "Bearer " + token;
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.resolveAuthentication(token)).thenReturn(null);
         
         // when
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         // then
-        verify(jwtTokenProvider).validateToken(token);
-        verify(jwtTokenProvider, never()).getAuthentication(anyString());
+        verify(jwtTokenProvider).resolveAuthentication(token);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
@@ -129,8 +124,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         
         // then
-        verify(jwtTokenProvider, never()).validateToken(anyString());
-        verify(jwtTokenProvider, never()).getAuthentication(anyString());
+        verify(jwtTokenProvider, never()).resolveAuthentication(anyString());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
@@ -9,11 +9,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.util.Base64;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class JwtTokenProviderTest {
@@ -114,4 +117,69 @@ class JwtTokenProviderTest {
         assertThat(authentication).isNotNull();
         assertThat(authentication.getPrincipal()).isEqualTo(userDetails);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("인증 정보 조회(캐시): 같은 토큰으로 다시 요청하면 사용자 조회 없이 캐시된 인증 정보를 반환한다.")
+    void resolveAuthentication_CachesVerifiedToken() {
+        // given
+        String token = jwtTokenProvider.generateToken(email);
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(userDetails.getAuthorities()).thenReturn(null);
+
+        // when
+        Authentication first = jwtTokenProvider.resolveAuthentication(token);
+        Authentication second = jwtTokenProvider.resolveAuthentication(token);
+
+        // then
+        assertThat(first).isNotNull();
+        assertThat(first.getPrincipal()).isEqualTo(userDetails);
+        assertThat(second).isSameAs(first);
+        verify(userDetailsService, times(1)).loadUserByUsername(email);
+    }
+
+    @Test
+    @DisplayName("인증 정보 조회(캐시): 토큰이 만료되지 않았어도 user-details-ttl 이 지나면 사용자를 다시 조회해 권한 변경을 반영한다.")
+    void resolveAuthentication_ExpiresWithUserDetailsTtl() throws InterruptedException {
+        // given
+        JwtTokenProvider shortTtlProvider = new JwtTokenProvider(secretKey, expirationTime, userDetailsService, 100, Duration.ofMillis(50));
+        String token = shortTtlProvider.generateToken(email);
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(userDetails.getAuthorities()).thenReturn(null);
+
+        // when
+        shortTtlProvider.resolveAuthentication(token);
+        Thread.sleep(100);
+        Authentication afterTtl = shortTtlProvider.resolveAuthentication(token);
+
+        // then
+        assertThat(afterTtl).isNotNull();
+        verify(userDetailsService, times(2)).loadUserByUsername(email);
+    }
+
+    @Test
+    @DisplayName("인증 정보 조회(캐시): 만료되었거나 잘못된 토큰은 null 을 반환하고 사용자를 조회하지 않는다.")
+    void resolveAuthentication_InvalidToken_ReturnsNull() {
+        // given
+        JwtTokenProvider shortExpirationProvider = new JwtTokenProvider(secretKey, 0, userDetailsService);
+        String expiredToken = shortExpirationProvider.generateToken(email);
+
+        // when & then
+        assertThat(jwtTokenProvider.resolveAuthentication(expiredToken)).isNull();
+        assertThat(jwtTokenProvider.resolveAuthentication("invalid.token.format")).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("인증 정보 조회(캐시): 토큰은 유효하지만 사용자가 없으면 null 을 반환한다.")
+    void resolveAuthentication_UserNotFound_ReturnsNull() {
+        // given
+        String token = jwtTokenProvider.generateToken(email);
+        when(userDetailsService.loadUserByUsername(email)).thenThrow(new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
+
+        // when
+        Authentication authentication = jwtTokenProvider.resolveAuthentication(token);
+
+        // then
+        assertThat(authentication).isNull();
+    }
+}